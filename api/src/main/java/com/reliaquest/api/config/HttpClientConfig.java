@@ -1,18 +1,40 @@
 package com.reliaquest.api.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import java.net.http.HttpClient;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 
 @Configuration
 public class HttpClientConfig {
 
+    /**
+     * The executor is monitored as {@code employee.upstream.client}, reporting its active and queued tasks when it is
+     * a thread pool.
+     */
     @Bean
-    HttpClient httpClient() {
+    HttpClient httpClient(Environment environment, MeterRegistry meterRegistry) {
         return HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_2)
-                .executor(Executors.newFixedThreadPool(10)) // Thread pool
+                .executor(ExecutorServiceMetrics.monitor(
+                        meterRegistry, httpClientExecutor(environment), "employee.upstream.client"))
                 .build();
     }
+
+    /**
+     * Follows {@code spring.threads.virtual.enabled}, like Tomcat's request threads: a virtual thread per task when
+     * enabled on Java 21 or later, a fixed thread pool otherwise.
+     */
+    static Executor httpClientExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new VirtualThreadTaskExecutor("employee-server-client-");
+        }
+        return Executors.newFixedThreadPool(10); // Thread pool
+    }
 }
@@ -0,0 +1,23 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.controller.CachedResponseInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ResponseCacheConfig implements WebMvcConfigurer {
+    /* Present only when employee.response-cache.enabled is true. */
+    private final ObjectProvider<CachedResponseInterceptor> cachedResponseInterceptor;
+
+    public ResponseCacheConfig(ObjectProvider<CachedResponseInterceptor> cachedResponseInterceptor) {
+        this.cachedResponseInterceptor = cachedResponseInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        cachedResponseInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/", "/highestSalary", "/topTenHighestEarningEmployeeNames"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Serves the {@link IEmployeeController} contract with servlet async processing: each handler returns as soon as the
+ * employee server has been called and the response is written once its future completes, so request threads are not
+ * held while waiting on the employee server. Replaces {@link EmployeeController} when
+ * {@code employee.execution.mode} is {@code ASYNC}.
+ */
+@RestController
+@ConditionalOnProperty(name = "employee.execution.mode", havingValue = "ASYNC")
+@Slf4j
+public class AsyncEmployeeController {
+    private final EmployeeService employeeService;
+
+    public AsyncEmployeeController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping()
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
+        log.info("Received request to get all employees.");
+
+        return employeeService.getAllEmployeesAsync().thenApply(employees -> {
+            log.info("Returning {} employees.", employees.size());
+            return ResponseEntity.ok(employees);
+        });
+    }
+
+    @GetMapping("/search/{searchString}")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable String searchString) {
+        log.info("Received request to search employees by name with search string: {}", searchString);
+
+        return employeeService.getEmployeesByNameSearchAsync(searchString).thenApply(employees -> {
+            log.info("Found {} employees matching the search string: {}", employees.size(), searchString);
+            return ResponseEntity.ok(employees);
+        });
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        log.info("Received request to get employee by ID: {}", id);
+
+        return employeeService.getEmployeeByIdAsync(id).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/highestSalary")
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        log.info("Received request to get the highest salary of employees.");
+
+        return employeeService.getHighestSalaryOfEmployeesAsync().thenApply(highestSalary -> {
+            log.info("Returning highest salary among employees");
+            return ResponseEntity.ok(highestSalary);
+        });
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        log.info("Received request to get top 10 highest earning employee names.");
+
+        return employeeService.getTopEmployeesBySalaryAsync(10).thenApply(topEmployees -> {
+            log.info("Returning top 10 highest earning employee names");
+            return ResponseEntity.ok(topEmployees);
+        });
+    }
+
+    @PostMapping()
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(
+            @RequestBody EmployeeCreationInput employeeInput) {
+        log.info("Received request to create a new employee with input: {}", employeeInput);
+
+        return employeeService.createEmployeeAsync(employeeInput).thenApply(createdEmployee -> {
+            log.info("Employee created successfully with ID: {}", createdEmployee.getId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdEmployee);
+        });
+    }
+
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        log.info("Received request to delete employee with ID: {}", id);
+
+        return employeeService.deleteEmployeeAsync(id).thenApply(response -> {
+            log.info("Employee deleted successfully with ID: {}", id);
+            return ResponseEntity.ok(response);
+        });
+    }
+}
@@ -0,0 +1,167 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.service.EncodedResponseCache;
+import com.reliaquest.api.service.EncodedResponseCache.EncodedResponse;
+import com.reliaquest.api.service.EncodedResponseCache.Endpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers GETs of the all employees, highest salary and top ten endpoints with the bytes held by
+ * {@link EncodedResponseCache}, gzip compressed if the client accepts it, before they reach the controller. Responses
+ * carry a strong ETag and {@code Cache-Control} with {@code employee.response-cache.max-age}; a matching
+ * {@code If-None-Match} is answered with 304 Not Modified. Requests the cache cannot answer, including those that do
+ * not accept JSON, go on to the controller. Registered only with {@code employee.response-cache.enabled}.
+ * <p>
+ * Requests are counted as {@code employee.response-cache.requests}, tagged by endpoint and whether the cached bytes
+ * were sent, a 304 was sent or the request was passed on.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.response-cache.enabled", havingValue = "true")
+public class CachedResponseInterceptor implements HandlerInterceptor {
+    private static final Map<String, Endpoint> ENDPOINTS = Map.of(
+            "/", Endpoint.ALL_EMPLOYEES,
+            "/highestSalary", Endpoint.HIGHEST_SALARY,
+            "/topTenHighestEarningEmployeeNames", Endpoint.TOP_TEN_NAMES);
+
+    private final EncodedResponseCache encodedResponseCache;
+    private final String cacheControl;
+    private final MeterRegistry meterRegistry;
+
+    public CachedResponseInterceptor(
+            EncodedResponseCache encodedResponseCache,
+            @Value("${employee.response-cache.max-age:0s}") Duration maxAge,
+            MeterRegistry meterRegistry) {
+        this.encodedResponseCache = encodedResponseCache;
+        this.cacheControl = CacheControl.maxAge(maxAge).mustRevalidate().getHeaderValue();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        Endpoint endpoint = ENDPOINTS.get(
+                request.getRequestURI().substring(request.getContextPath().length()));
+        if (endpoint == null || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        if (!acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            count(endpoint, "passed");
+            return true;
+        }
+
+        Optional<EncodedResponse> cached = encodedResponseCache.get(endpoint);
+        if (cached.isEmpty()) {
+            count(endpoint, "passed");
+            return true;
+        }
+
+        EncodedResponse encoded = cached.get();
+        Optional<byte[]> gzip =
+                acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) ? encoded.gzip() : Optional.empty();
+        boolean gzipped = gzip.isPresent();
+        response.setHeader(HttpHeaders.ETAG, encoded.eTag(gzipped));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), encoded)) {
+            count(endpoint, "not-modified");
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return false;
+        }
+
+        byte[] body = gzip.orElse(encoded.identity());
+        count(endpoint, "sent");
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (gzipped) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    private void count(Endpoint endpoint, String result) {
+        meterRegistry
+                .counter("employee.response-cache.requests", "endpoint", endpoint.name(), "result", result)
+                .increment();
+    }
+
+    /**
+     * @return whether {@code accept} is missing or lists a media type compatible with JSON without a zero quality
+     */
+    static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            return mediaTypes.stream()
+                    .anyMatch(mediaType ->
+                            mediaType.isCompatibleWith(MediaType.APPLICATION_JSON) && mediaType.getQualityValue() > 0);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return whether {@code acceptEncoding} lists gzip without a zero quality
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            if (!parameters[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * Weak comparison, as for any If-None-Match: either form of the response matches, since both carry the same data.
+     */
+    private static boolean matches(String ifNoneMatch, EncodedResponse encoded) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String eTag : ifNoneMatch.split(",")) {
+            String tag = eTag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(encoded.eTag(false)) || tag.equals(encoded.eTag(true))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
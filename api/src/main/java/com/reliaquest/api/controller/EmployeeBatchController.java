@@ -0,0 +1,50 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.model.EmployeeBatchResult;
+import com.reliaquest.api.service.EmployeeBatchService;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Creates and deletes many employees at once, answering with a result per item in the order of the request.
+ */
+@RestController
+@RequestMapping("/batch")
+@Slf4j
+public class EmployeeBatchController {
+    private final EmployeeBatchService employeeBatchService;
+
+    public EmployeeBatchController(EmployeeBatchService employeeBatchService) {
+        this.employeeBatchService = employeeBatchService;
+    }
+
+    @PostMapping()
+    public CompletableFuture<ResponseEntity<List<EmployeeBatchResult>>> createEmployees(
+            @RequestBody List<EmployeeCreationInput> employeeInputs) {
+        log.info("Received request to create {} employees", employeeInputs.size());
+
+        return employeeBatchService.createEmployeesAsync(employeeInputs).thenApply(results -> {
+            log.info("Processed batch of {} employee creations", results.size());
+            return ResponseEntity.ok(results);
+        });
+    }
+
+    @DeleteMapping()
+    public CompletableFuture<ResponseEntity<List<EmployeeBatchResult>>> deleteEmployees(@RequestBody List<UUID> ids) {
+        log.info("Received request to delete {} employees", ids.size());
+
+        return employeeBatchService.deleteEmployeesAsync(ids).thenApply(results -> {
+            log.info("Processed batch of {} employee deletions", results.size());
+            return ResponseEntity.ok(results);
+        });
+    }
+}
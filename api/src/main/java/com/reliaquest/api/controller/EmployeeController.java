@@ -5,11 +5,13 @@ import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@ConditionalOnProperty(name = "employee.execution.mode", havingValue = "SYNC", matchIfMissing = true)
 @Slf4j
 public class EmployeeController implements IEmployeeController<Employee, EmployeeCreationInput> {
     private final EmployeeService employeeService;
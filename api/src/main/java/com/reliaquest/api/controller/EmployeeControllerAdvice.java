@@ -25,7 +25,9 @@ public class EmployeeControllerAdvice {
     @ExceptionHandler(CompletionException.class)
     protected ResponseEntity<?> handleCompletionException(CompletionException ex) {
         log.error("Error handling API request: ", ex);
-        return ResponseEntity.status(((APIException) ex.getCause()).statusCode)
-                .body(ex.getCause().getMessage());
+        if (ex.getCause() instanceof APIException apiException) {
+            return ResponseEntity.status(apiException.statusCode).body(apiException.getMessage());
+        }
+        return ResponseEntity.internalServerError().body(ex.getCause().getMessage());
     }
 }
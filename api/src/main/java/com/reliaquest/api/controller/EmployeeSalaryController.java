@@ -0,0 +1,69 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeSalaryService;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/salaries")
+@Slf4j
+public class EmployeeSalaryController {
+    private final EmployeeSalaryService employeeSalaryService;
+
+    public EmployeeSalaryController(EmployeeSalaryService employeeSalaryService) {
+        this.employeeSalaryService = employeeSalaryService;
+    }
+
+    @GetMapping("/range/count")
+    public ResponseEntity<Integer> countEmployeesInSalaryRange(@RequestParam int min, @RequestParam int max) {
+        log.info("Received request to count employees earning between {} and {}", min, max);
+
+        int count = employeeSalaryService.countEmployeesInSalaryRange(min, max);
+
+        log.info("Found {} employees earning between {} and {}", count, min, max);
+        return ResponseEntity.ok(count);
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<List<Employee>> getEmployeesInSalaryRange(
+            @RequestParam int min,
+            @RequestParam int max,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "100") int limit) {
+        log.info("Received request to get employees earning between {} and {}", min, max);
+
+        List<Employee> employees = employeeSalaryService.getEmployeesInSalaryRange(min, max, offset, limit);
+
+        log.info("Returning {} employees earning between {} and {}", employees.size(), min, max);
+        return ResponseEntity.ok(employees);
+    }
+
+    @GetMapping("/rank/{id}")
+    public ResponseEntity<Integer> getSalaryRank(@PathVariable String id) {
+        log.info("Received request to get salary rank of employee with ID: {}", id);
+
+        int rank = employeeSalaryService.getSalaryRank(id);
+
+        log.info("Employee with ID: {} has salary rank {}", id, rank);
+        return ResponseEntity.ok(rank);
+    }
+
+    @GetMapping("/percentiles")
+    public ResponseEntity<Map<String, Integer>> getSalaryPercentiles(
+            @RequestParam(defaultValue = "50,90,99") List<Double> p) {
+        log.info("Received request to get salary percentiles {}", p);
+
+        Map<String, Integer> percentiles = employeeSalaryService.getSalaryPercentiles(p);
+
+        log.info("Returning salary percentiles {}", percentiles);
+        return ResponseEntity.ok(percentiles);
+    }
+}
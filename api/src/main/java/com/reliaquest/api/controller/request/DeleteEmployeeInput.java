@@ -1,3 +1,19 @@
 package com.reliaquest.api.controller.request;
 
-public record DeleteEmployeeInput(String name) {}
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * Deletes the employee with the given id or, without one, the earliest added employee with the given name.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DeleteEmployeeInput(String name, UUID id) {
+
+    public DeleteEmployeeInput(String name) {
+        this(name, null);
+    }
+
+    public static DeleteEmployeeInput byId(UUID id) {
+        return new DeleteEmployeeInput(null, id);
+    }
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of one item of a batch create or delete, in the position of its input.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeBatchResult(Outcome outcome, Employee employee, String error) {
+
+    public static EmployeeBatchResult failed(String error) {
+        return new EmployeeBatchResult(Outcome.FAILED, null, error);
+    }
+
+    public enum Outcome {
+        CREATED,
+        DELETED,
+        NOT_FOUND,
+        INVALID,
+        /* The chunk holding the item could not be sent, so it may or may not have been applied. */
+        FAILED
+    }
+}
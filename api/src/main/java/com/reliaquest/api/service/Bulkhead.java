@@ -0,0 +1,49 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent calls of one kind, rejecting calls beyond the limit instead of queueing them.
+ */
+class Bulkhead {
+    private final int maxConcurrentCalls;
+    private final Semaphore permits;
+    private final Counter rejections;
+
+    public Bulkhead(String name, int maxConcurrentCalls, MeterRegistry meterRegistry) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.rejections = Counter.builder("employee.upstream.bulkhead.rejections")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("employee.upstream.bulkhead.active", this, Bulkhead::getActiveCalls)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        if (!permits.tryAcquire()) {
+            rejections.increment();
+            return CompletableFuture.failedFuture(
+                    new APIException(503, "Too many concurrent requests to employee server, try again later"));
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, ex) -> permits.release());
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Sends a list of items to the employee server in chunks, with at most {@code maxInFlight} chunks awaiting a response
+ * at a time. Each in-flight slot sends its next chunk as soon as the previous one completes, so a slow chunk does not
+ * hold up the others. Results come back in the order of the items; the items of a chunk that fails get the result of
+ * {@code onFailure} instead, so one failed chunk does not fail the whole batch.
+ */
+class ChunkedBatch<I, R> {
+    private final List<List<I>> chunks;
+    private final Function<List<I>, CompletableFuture<List<R>>> sendChunk;
+    private final Function<Throwable, R> onFailure;
+    private final List<List<R>> results;
+    private final AtomicInteger nextChunk = new AtomicInteger();
+
+    private ChunkedBatch(
+            List<I> items,
+            int chunkSize,
+            Function<List<I>, CompletableFuture<List<R>>> sendChunk,
+            Function<Throwable, R> onFailure) {
+        this.chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + chunkSize)));
+        }
+        this.sendChunk = sendChunk;
+        this.onFailure = onFailure;
+        this.results = new ArrayList<>(chunks.size());
+        chunks.forEach(chunk -> results.add(null));
+    }
+
+    static <I, R> CompletableFuture<List<R>> send(
+            List<I> items,
+            int chunkSize,
+            int maxInFlight,
+            Function<List<I>, CompletableFuture<List<R>>> sendChunk,
+            Function<Throwable, R> onFailure) {
+        if (chunkSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Chunk size and chunks in flight must be positive");
+        }
+
+        ChunkedBatch<I, R> batch = new ChunkedBatch<>(items, chunkSize, sendChunk, onFailure);
+        CompletableFuture<?>[] slots = new CompletableFuture<?>[Math.min(maxInFlight, batch.chunks.size())];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = batch.sendNext();
+        }
+        return CompletableFuture.allOf(slots).thenApply(ignored -> batch.collect());
+    }
+
+    /*
+     * Chunks that have already completed when sendChunk returns, such as ones that fail before anything is sent, are
+     * recorded in this loop rather than by chaining the next send onto them, which would run it on the same stack and
+     * let a long run of such chunks overflow it.
+     */
+    private CompletableFuture<Void> sendNext() {
+        while (true) {
+            int index = nextChunk.getAndIncrement();
+            if (index >= chunks.size()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            List<I> chunk = chunks.get(index);
+            CompletableFuture<List<R>> sent;
+            try {
+                sent = sendChunk.apply(chunk);
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            if (!sent.isDone()) {
+                return sent.handle((chunkResults, ex) -> {
+                            record(index, chunk, chunkResults, ex);
+                            return null;
+                        })
+                        .thenCompose(ignored -> sendNext());
+            }
+            sent.handle((chunkResults, ex) -> {
+                record(index, chunk, chunkResults, ex);
+                return null;
+            });
+        }
+    }
+
+    private void record(int index, List<I> chunk, List<R> chunkResults, Throwable ex) {
+        if (ex == null && chunkResults != null && chunkResults.size() == chunk.size()) {
+            results.set(index, chunkResults);
+        } else {
+            R failed =
+                    onFailure.apply(ex == null ? new IllegalStateException("Expected a result per item") : unwrap(ex));
+            results.set(index, chunk.stream().map(item -> failed).toList());
+        }
+    }
+
+    /*
+     * Every slot has completed, which happens after the last write to the results.
+     */
+    private List<R> collect() {
+        List<R> collected = new ArrayList<>();
+        results.forEach(collected::addAll);
+        return collected;
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+}
@@ -0,0 +1,152 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opens after a number of consecutive failed calls and rejects calls while open. Once the open duration has passed a
+ * limited number of probe calls are let through: one success closes the circuit again, one failure re-opens it. Only
+ * server errors, timeouts and transport failures count as failures.
+ */
+@Slf4j
+class CircuitBreaker {
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejections;
+
+    private final Lock lock = new ReentrantLock();
+    private volatile State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int probesInFlight;
+    private long openedAtNanos;
+
+    public CircuitBreaker(
+            String name, int failureThreshold, Duration openDuration, int halfOpenProbes, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.meterRegistry = meterRegistry;
+        this.rejections = Counter.builder("employee.upstream.circuit.rejections")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("employee.upstream.circuit.state", this, breaker -> breaker.state.ordinal())
+                .tag("name", name)
+                .description("0 = closed, 1 = open, 2 = half open")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call) {
+        if (!tryAcquirePermission()) {
+            rejections.increment();
+            return CompletableFuture.failedFuture(
+                    new APIException(503, "Employee server is unavailable, try again later"));
+        }
+
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, ex) -> {
+            if (isFailure(ex)) {
+                onFailure();
+            } else {
+                onSuccess();
+            }
+        });
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            switch (state) {
+                case OPEN -> {
+                    if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                        return false;
+                    }
+                    transitionTo(State.HALF_OPEN);
+                    probesInFlight = 1;
+                    return true;
+                }
+                case HALF_OPEN -> {
+                    if (probesInFlight >= halfOpenProbes) {
+                        return false;
+                    }
+                    probesInFlight++;
+                    return true;
+                }
+                default -> {
+                    return true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess() {
+        lock.lock();
+        try {
+            consecutiveFailures = 0;
+            if (state == State.HALF_OPEN) {
+                transitionTo(State.CLOSED);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailure() {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                openedAtNanos = System.nanoTime();
+                transitionTo(State.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Circuit breaker {} transitioning from {} to {}", name, state, next);
+        meterRegistry
+                .counter("employee.upstream.circuit.transitions", "name", name, "from", state.name(), "to", next.name())
+                .increment();
+        state = next;
+        probesInFlight = 0;
+    }
+
+    private static boolean isFailure(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause == null) {
+            return false;
+        }
+        return !(cause instanceof APIException apiException) || apiException.statusCode >= 500;
+    }
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Remembers the ETag and decoded value of the most recently used GET responses, so a 304 Not Modified can be answered
+ * with the value decoded before. Holds at most {@code maxEntries} entries, evicting the least recently used. The value
+ * is returned to every caller, so it must not be modifiable.
+ */
+class ConditionalGetCache {
+    private final int maxEntries;
+    private final Lock lock = new ReentrantLock();
+    private final Map<String, Entry> entries;
+
+    public ConditionalGetCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ConditionalGetCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    public Entry get(String key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, String eTag, Object value) {
+        lock.lock();
+        try {
+            entries.put(key, new Entry(eTag, value));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    record Entry(String eTag, Object value) {}
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.reliaquest.api.controller.request.DeleteEmployeeInput;
+import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.exception.APIException;
+import com.reliaquest.api.model.EmployeeBatchResult;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates and deletes many employees with the employee server's batch endpoints, a chunk of
+ * {@code employee.batch.chunk-size} items per request and at most {@code employee.batch.max-in-flight} requests at a
+ * time. Each chunk costs one rate limit permit and one round trip, and deletes by id need no lookup first. The chunk
+ * size can be at most {@value #MAX_CHUNK_SIZE}, the most the employee server accepts in one request, and a batch can
+ * hold at most {@value #MAX_BATCH_SIZE} items.
+ */
+@Component
+@Slf4j
+public class EmployeeBatchService {
+    static final int MAX_CHUNK_SIZE = 1_000;
+    static final int MAX_BATCH_SIZE = 1_000;
+    private static final String BATCH_URI = "/api/v1/employee/batch";
+    private static final TypeReference<List<EmployeeBatchResult>> batchResultTypeReference = new TypeReference<>() {};
+
+    private final EmployeeServerAPIClient employeeServerApiClient;
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    public EmployeeBatchService(
+            EmployeeServerAPIClient employeeServerApiClient,
+            EmployeeSnapshotCache employeeSnapshotCache,
+            @Value("${employee.batch.chunk-size:100}") int chunkSize,
+            @Value("${employee.batch.max-in-flight:4}") int maxInFlight) {
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException(
+                    "employee.batch.chunk-size must be between 1 and %d, was %d".formatted(MAX_CHUNK_SIZE, chunkSize));
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException(
+                    "employee.batch.max-in-flight must be positive, was %d".formatted(maxInFlight));
+        }
+        this.employeeServerApiClient = employeeServerApiClient;
+        this.employeeSnapshotCache = employeeSnapshotCache;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public CompletableFuture<List<EmployeeBatchResult>> createEmployeesAsync(List<EmployeeCreationInput> inputs) {
+        checkBatchSize(inputs);
+        log.debug("Creating {} employees in chunks of {}", inputs.size(), chunkSize);
+
+        return ChunkedBatch.send(
+                inputs,
+                chunkSize,
+                maxInFlight,
+                chunk -> employeeServerApiClient
+                        .post(BATCH_URI, chunk, batchResultTypeReference)
+                        .thenApply(results -> {
+                            results.stream()
+                                    .filter(result -> result.outcome() == EmployeeBatchResult.Outcome.CREATED)
+                                    .forEach(result -> employeeSnapshotCache.onEmployeeCreated(result.employee()));
+                            return results;
+                        }),
+                EmployeeBatchService::failed);
+    }
+
+    public CompletableFuture<List<EmployeeBatchResult>> deleteEmployeesAsync(List<UUID> ids) {
+        checkBatchSize(ids);
+        log.debug("Deleting {} employees in chunks of {}", ids.size(), chunkSize);
+
+        return ChunkedBatch.send(
+                ids.stream().map(DeleteEmployeeInput::byId).toList(),
+                chunkSize,
+                maxInFlight,
+                chunk -> employeeServerApiClient
+                        .delete(BATCH_URI, chunk, batchResultTypeReference)
+                        .thenApply(results -> {
+                            results.stream()
+                                    .filter(result -> result.outcome() == EmployeeBatchResult.Outcome.DELETED)
+                                    .forEach(result -> employeeSnapshotCache.onEmployeeDeleted(result.employee()));
+                            return results;
+                        }),
+                EmployeeBatchService::failed);
+    }
+
+    private static void checkBatchSize(List<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new APIException(
+                    400, "A batch can hold at most %d items, was %d".formatted(MAX_BATCH_SIZE, items.size()));
+        }
+    }
+
+    private static EmployeeBatchResult failed(Throwable ex) {
+        log.warn("Failed to send batch chunk to employee server", ex);
+        return EmployeeBatchResult.failed(ex.getMessage());
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * A create or delete made on the employee server, with the server version it produced.
+ */
+record EmployeeChange(long version, Type type, Employee employee) {
+
+    enum Type {
+        CREATED,
+        DELETED
+    }
+}
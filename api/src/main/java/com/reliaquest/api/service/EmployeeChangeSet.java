@@ -0,0 +1,9 @@
+package com.reliaquest.api.service;
+
+import java.util.List;
+
+/**
+ * Changes made on the employee server after a given version, oldest first. When {@code resyncRequired} is set the
+ * server no longer has them and the full employee list has to be read again.
+ */
+record EmployeeChangeSet(long version, boolean resyncRequired, List<EmployeeChange> changes) {}
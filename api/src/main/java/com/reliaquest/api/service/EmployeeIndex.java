@@ -0,0 +1,17 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+
+/**
+ * Derived view over the cached employees, kept up to date by {@link EmployeeSnapshotCache} as snapshots are loaded and
+ * employees are created or deleted.
+ */
+interface EmployeeIndex {
+
+    void rebuild(List<Employee> employees);
+
+    void add(Employee employee);
+
+    void remove(Employee employee);
+}
@@ -0,0 +1,135 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.APIException;
+import com.reliaquest.api.model.Employee;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers salary range, rank and percentile queries. With a held snapshot, as in CACHED mode, they are answered from
+ * the shared {@link SalaryIndex} without waiting for the employee server. In UPSTREAM mode each request reads the list
+ * and answers from it directly: a count or rank is one scan, a range sorts only the matching employees, and
+ * percentiles sort the salaries once. No index is built per request.
+ */
+@Component
+@Slf4j
+public class EmployeeSalaryService {
+    /* Sorting is stable, so employees sharing a salary keep the server's order, as they do in the index. */
+    private static final Comparator<Employee> HIGHEST_SALARY_FIRST =
+            Comparator.comparing(Employee::getSalary).reversed();
+
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+    private final SalaryIndex salaryIndex;
+
+    public EmployeeSalaryService(EmployeeSnapshotCache employeeSnapshotCache, SalaryIndex salaryIndex) {
+        this.employeeSnapshotCache = employeeSnapshotCache;
+        this.salaryIndex = salaryIndex;
+    }
+
+    public int countEmployeesInSalaryRange(int minSalary, int maxSalary) {
+        log.debug("Counting employees earning between {} and {}", minSalary, maxSalary);
+
+        return query(index -> index.countInRange(minSalary, maxSalary), employees -> (int) employees.stream()
+                .filter(employee -> earnsBetween(employee, minSalary, maxSalary))
+                .count());
+    }
+
+    public List<Employee> getEmployeesInSalaryRange(int minSalary, int maxSalary, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new APIException(400, "Offset and limit must not be negative");
+        }
+        log.debug("Getting {} employees from offset {} earning between {} and {}", limit, offset, minSalary, maxSalary);
+
+        return query(index -> index.getInRange(minSalary, maxSalary, offset, limit), employees -> employees.stream()
+                .filter(employee -> earnsBetween(employee, minSalary, maxSalary))
+                .sorted(HIGHEST_SALARY_FIRST)
+                .skip(offset)
+                .limit(limit)
+                .toList());
+    }
+
+    public int getSalaryRank(String id) {
+        log.debug("Getting salary rank of employee with ID: {}", id);
+
+        UUID employeeId = parseId(id);
+        return query(index -> index.getRank(employeeId), employees -> rank(employees, employeeId))
+                .orElseThrow(() -> new APIException(404, "Employee not found with ID %s".formatted(id)));
+    }
+
+    public Map<String, Integer> getSalaryPercentiles(List<Double> percentiles) {
+        if (percentiles.stream().anyMatch(p -> p <= 0 || p > 100)) {
+            throw new APIException(400, "Percentiles must be greater than 0 and at most 100");
+        }
+        log.debug("Getting salary percentiles {}", percentiles);
+
+        return query(index -> percentiles(percentiles, index::getPercentile), employees -> {
+            int[] ascending =
+                    employees.stream().mapToInt(Employee::getSalary).sorted().toArray();
+            return percentiles(percentiles, percentile -> percentile(ascending, percentile));
+        });
+    }
+
+    private static Map<String, Integer> percentiles(
+            List<Double> percentiles, DoubleFunction<OptionalInt> percentileSalary) {
+        Map<String, Integer> salaries = new LinkedHashMap<>();
+        for (double percentile : percentiles) {
+            String key = "p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : percentile);
+            salaries.put(key, percentileSalary.apply(percentile).orElse(0));
+        }
+        return salaries;
+    }
+
+    /*
+     * Queries the shared index in step with the held snapshot. Without one, the employees are read and, as in UPSTREAM
+     * mode, answered from directly; only employees with an id and a salary count, as in the index.
+     */
+    private <T> T query(Function<SalaryIndex, T> indexed, Function<List<Employee>, T> scanned) {
+        return employeeSnapshotCache
+                .read(ignored -> indexed.apply(salaryIndex))
+                .orElseGet(() -> scanned.apply(employeeSnapshotCache.getSnapshot().join().employees().stream()
+                        .filter(employee -> employee.getId() != null && employee.getSalary() != null)
+                        .toList()));
+    }
+
+    private static boolean earnsBetween(Employee employee, int minSalary, int maxSalary) {
+        return employee.getSalary() >= minSalary && employee.getSalary() <= maxSalary;
+    }
+
+    /*
+     * Same definitions as SalaryIndex: 1 plus the number earning strictly more, and the nearest-rank percentile.
+     */
+    private static OptionalInt rank(List<Employee> employees, UUID id) {
+        return employees.stream()
+                .filter(employee -> id.equals(employee.getId()))
+                .findFirst()
+                .map(found -> OptionalInt.of((int) employees.stream()
+                                .filter(employee -> employee.getSalary() > found.getSalary())
+                                .count()
+                        + 1))
+                .orElse(OptionalInt.empty());
+    }
+
+    private static OptionalInt percentile(int[] ascending, double percentile) {
+        if (ascending.length == 0) {
+            return OptionalInt.empty();
+        }
+        int ascendingRank = Math.max(1, (int) Math.ceil(percentile / 100 * ascending.length));
+        return OptionalInt.of(ascending[Math.min(ascendingRank, ascending.length) - 1]);
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new APIException(400, "Invalid employee ID %s".formatted(id));
+        }
+    }
+}
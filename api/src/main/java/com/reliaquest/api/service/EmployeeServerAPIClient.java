@@ -2,99 +2,468 @@ package com.reliaquest.api.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.controller.request.DeleteEmployeeInput;
 import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Calls the employee server, asking for responses in {@code employee.upstream.format} and decoding each response in
+ * the format its {@code Content-Type} names, so a server that only speaks JSON still works. Every call is timed as
+ * {@code employee.upstream.requests}, tagged with the method, the URI template and the response status, and every
+ * decoded body as {@code employee.upstream.decode} along with its size in {@code employee.upstream.response.size},
+ * both tagged with the URI template and the format.
+ * <p>
+ * With {@code employee.upstream.compression} enabled responses are requested gzip or deflate compressed and
+ * decompressed as they are parsed; their size as received is recorded in {@code employee.upstream.response.wire.size},
+ * tagged with the content coding.
+ * <p>
+ * A request answered with 429 Too Many Requests is sent again after a backoff if it is idempotent: a GET, or a delete
+ * of employees by id only, since deleting by name removes the earliest employee with that name each time.
+ */
 @Component
 class EmployeeServerAPIClient {
+    private static final TypeReference<Boolean> booleanTypeReference = new TypeReference<>() {};
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final String EMPLOYEE_URI = "/api/v1/employee";
+    private static final Set<String> STATIC_URIS = Set.of(
+            EMPLOYEE_URI,
+            EMPLOYEE_URI + "/changes",
+            EMPLOYEE_URI + "/batch",
+            EMPLOYEE_URI + "/capabilities",
+            EMPLOYEE_URI + "/search",
+            EMPLOYEE_URI + "/salary/max",
+            EMPLOYEE_URI + "/salary/top");
+
     private final HttpClient httpClient;
     private final String baseUrl;
     private final ObjectMapper objectMapper;
+    private final WireFormat format;
+    private final boolean compression;
+    private final Map<WireFormat, ServerResponseDecoder> responseDecoders = new EnumMap<>(WireFormat.class);
+    private final UpstreamRateGovernor rateGovernor;
+    private final UpstreamCallGuard callGuard;
+    private final ConditionalGetCache conditionalGetCache;
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private final MeterRegistry meterRegistry;
 
     public EmployeeServerAPIClient(
             HttpClient httpClient,
             @Value("${urls.employee_server_base_url}") String baseUrl,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            UpstreamRateGovernor rateGovernor,
+            UpstreamCallGuard callGuard,
+            @Value("${employee.upstream.conditional-get.max-entries:1024}") int conditionalGetMaxEntries,
+            @Value("${employee.upstream.format:JSON}") WireFormat format,
+            @Value("${employee.upstream.compression:false}") boolean compression,
+            MeterRegistry meterRegistry) {
         this.httpClient = httpClient;
         this.baseUrl = baseUrl;
         this.objectMapper = objectMapper;
+        this.format = format;
+        this.compression = compression;
+        for (WireFormat wireFormat : WireFormat.values()) {
+            responseDecoders.put(wireFormat, new ServerResponseDecoder(wireFormat.mapper(objectMapper)));
+        }
+        this.rateGovernor = rateGovernor;
+        this.callGuard = callGuard;
+        this.conditionalGetCache = new ConditionalGetCache(conditionalGetMaxEntries);
+        this.meterRegistry = meterRegistry;
+        FunctionCounter.builder("employee.upstream.coalescer.callers", requestCoalescer, RequestCoalescer::getCallers)
+                .description("Callers asking for upstream reads, shared or not")
+                .register(meterRegistry);
+        FunctionCounter.builder(
+                        "employee.upstream.coalescer.calls", requestCoalescer, RequestCoalescer::getUpstreamCalls)
+                .description("Upstream reads actually sent on behalf of those callers")
+                .register(meterRegistry);
     }
 
     public <T> CompletableFuture<T> get(String uri, TypeReference<T> typeReference) {
-        HttpRequest request =
-                HttpRequest.newBuilder(URI.create(baseUrl + uri)).GET().build();
-        return httpClient
-                .sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                .thenApplyAsync(response -> {
-                    if (response.statusCode() != 200) {
-                        throw new APIException(response.statusCode(), response.body());
+        String key = uri + " " + typeReference.getType();
+        return requestCoalescer.execute(
+                key, () -> sendGet(uri, key, (decoder, body) -> decoder.decodeData(body, typeReference)));
+    }
+
+    /**
+     * Requests one page of the list at {@code uri}, starting after {@code cursor} or at the beginning if it is null.
+     */
+    public <T> CompletableFuture<ServerPage<T>> getPage(
+            String uri, String cursor, int limit, TypeReference<List<T>> typeReference) {
+        String pageUri = uri + "?limit=" + limit
+                + (Objects.isNull(cursor) ? "" : "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+        String key = pageUri + " page " + typeReference.getType();
+        return requestCoalescer.execute(
+                key, () -> sendGet(pageUri, key, (decoder, body) -> decoder.decodePage(body, typeReference)));
+    }
+
+    /**
+     * Requests the pages of the list at {@code uri} one after another, handing each to {@code onPage} as it arrives.
+     */
+    public <T> CompletableFuture<Void> walkPages(
+            String uri, int pageSize, TypeReference<List<T>> typeReference, Consumer<ServerPage<T>> onPage) {
+        return walkPages(uri, null, pageSize, typeReference, onPage);
+    }
+
+    /**
+     * Reads the whole list at {@code uri}, page by page if {@code pageSize} is positive or in one request otherwise.
+     *
+     * @return all items, with the version reported alongside the first page
+     */
+    public <T> CompletableFuture<ServerPage<T>> getAllPages(
+            String uri, int pageSize, TypeReference<List<T>> typeReference) {
+        if (pageSize <= 0) {
+            String key = uri + " page " + typeReference.getType();
+            return requestCoalescer.execute(
+                    key, () -> sendGet(uri, key, (decoder, body) -> decoder.decodePage(body, typeReference)));
+        }
+
+        List<T> items = new ArrayList<>();
+        AtomicReference<Long> version = new AtomicReference<>();
+        return walkPages(uri, pageSize, typeReference, page -> {
+                    version.compareAndSet(null, page.version());
+                    items.addAll(page.items());
+                })
+                .thenApply(ignored -> new ServerPage<>(items, null, version.get()));
+    }
+
+    private <T> CompletableFuture<Void> walkPages(
+            String uri,
+            String cursor,
+            int pageSize,
+            TypeReference<List<T>> typeReference,
+            Consumer<ServerPage<T>> onPage) {
+        return getPage(uri, cursor, pageSize, typeReference).thenCompose(page -> {
+            onPage.accept(page);
+            return page.hasNext()
+                    ? walkPages(uri, page.nextCursor(), pageSize, typeReference, onPage)
+                    : CompletableFuture.completedFuture(null);
+        });
+    }
+
+    public RequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * Sends a GET, conditional on the ETag of the last response for the same {@code key} if there is one. On 304 Not
+     * Modified the value decoded from that response is returned again instead of decoding a body. Since every caller of
+     * a URI gets that same value, its lists are unmodifiable.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> sendGet(String uri, String key, BodyDecoder<T> bodyDecoder) {
+        HttpRequest.Builder builder = newRequest(uri).GET();
+        ConditionalGetCache.Entry cached = conditionalGetCache.isEnabled() ? conditionalGetCache.get(key) : null;
+        if (cached != null) {
+            builder.header("If-None-Match", cached.eTag());
+        }
+        HttpRequest request = builder.build();
+        String uriTemplate = uriTemplate(uri);
+
+        return callGuard.execute(
+                UpstreamCallGuard.Operation.GET,
+                () -> send(request, true, uriTemplate, response -> {
+                    if (response.statusCode() == HTTP_NOT_MODIFIED && cached != null) {
+                        discard(response);
+                        meterRegistry
+                                .counter("employee.upstream.not-modified", "uri", uriTemplate)
+                                .increment();
+                        return (T) cached.value();
                     }
-                    String body = response.body();
-                    try {
-                        JsonNode responseString = objectMapper.readValue(body, JsonNode.class);
-                        return objectMapper.readValue(responseString.get("data").toString(), typeReference);
-                    } catch (JsonProcessingException e) {
-                        throw new RuntimeException(e);
+
+                    T value = unmodifiable(decode(response, uriTemplate, bodyDecoder));
+                    if (conditionalGetCache.isEnabled()) {
+                        response.headers()
+                                .firstValue("ETag")
+                                .ifPresentOrElse(
+                                        eTag -> conditionalGetCache.put(key, eTag, value),
+                                        () -> conditionalGetCache.remove(key));
                     }
-                });
+                    return value;
+                }));
     }
 
     public <T> CompletableFuture<T> post(String uri, Object body, TypeReference<T> typeReference) {
         try {
-            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + uri))
+            HttpRequest request = newRequest(uri)
                     .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
                     .header("Content-Type", "application/json")
                     .build();
 
-            return httpClient
-                    .sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenApplyAsync(response -> {
-                        if (response.statusCode() != 200) {
-                            throw new APIException(response.statusCode(), response.body());
-                        }
-                        try {
-                            JsonNode responseString = objectMapper.readValue(response.body(), JsonNode.class);
-                            return objectMapper.readValue(
-                                    responseString.get("data").toString(), typeReference);
-                        } catch (JsonProcessingException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
+            String uriTemplate = uriTemplate(uri);
+            return callGuard.execute(
+                    UpstreamCallGuard.Operation.POST,
+                    () -> send(
+                            request,
+                            false,
+                            uriTemplate,
+                            response -> decode(
+                                    response,
+                                    uriTemplate,
+                                    (decoder, responseBody) -> decoder.decodeData(responseBody, typeReference))));
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
     }
 
     public CompletableFuture<Boolean> delete(String uri, Object body) {
+        return delete(uri, body, booleanTypeReference).thenApply(Boolean.TRUE::equals);
+    }
+
+    public <T> CompletableFuture<T> delete(String uri, Object body, TypeReference<T> typeReference) {
         try {
-            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + uri))
+            HttpRequest request = newRequest(uri)
                     .method("DELETE", HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
                     .header("Content-Type", "application/json")
                     .build();
 
-            return httpClient
-                    .sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenApplyAsync(response -> {
-                        if (response.statusCode() != 200) {
-                            throw new APIException(response.statusCode(), response.body());
-                        }
-                        try {
-                            JsonNode responseString = objectMapper.readValue(response.body(), JsonNode.class);
-                            return responseString.get("data").asBoolean();
-                        } catch (JsonProcessingException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
+            String uriTemplate = uriTemplate(uri);
+            return callGuard.execute(
+                    UpstreamCallGuard.Operation.DELETE,
+                    () -> send(
+                            request,
+                            isDeleteById(body),
+                            uriTemplate,
+                            response -> decode(
+                                    response,
+                                    uriTemplate,
+                                    (decoder, responseBody) -> decoder.decodeData(responseBody, typeReference))));
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
     }
+
+    private HttpRequest.Builder newRequest(String uri) {
+        HttpRequest.Builder builder =
+                HttpRequest.newBuilder(URI.create(baseUrl + uri)).header("Accept", format.acceptHeader());
+        if (compression) {
+            builder.header("Accept-Encoding", "gzip, deflate");
+        }
+        return builder;
+    }
+
+    /*
+     * A delete names its employees by id alone, so sending it again cannot remove other employees.
+     */
+    private static boolean isDeleteById(Object body) {
+        if (body instanceof DeleteEmployeeInput input) {
+            return input.id() != null && input.name() == null;
+        }
+        if (body instanceof Collection<?> inputs) {
+            return !inputs.isEmpty() && inputs.stream().allMatch(EmployeeServerAPIClient::isDeleteById);
+        }
+        return false;
+    }
+
+    private <T> CompletableFuture<T> send(
+            HttpRequest request, boolean idempotent, String uriTemplate, ResponseHandler<T> responseHandler) {
+        return send(request, idempotent, uriTemplate, responseHandler, rateGovernor.newDeadline(), 0);
+    }
+
+    private <T> CompletableFuture<T> send(
+            HttpRequest request,
+            boolean idempotent,
+            String uriTemplate,
+            ResponseHandler<T> responseHandler,
+            long deadlineNanos,
+            int attempt) {
+        return rateGovernor
+                .acquire(deadlineNanos)
+                .thenCompose(ignored -> timed(request, uriTemplate))
+                .thenComposeAsync(response -> {
+                    if (response.statusCode() != HTTP_TOO_MANY_REQUESTS) {
+                        rateGovernor.onSuccess();
+                        return CompletableFuture.completedFuture(responseHandler.handle(response));
+                    }
+
+                    rateGovernor.onThrottled(response.headers().firstValue("Retry-After"));
+                    if (idempotent && rateGovernor.canRetry(attempt)) {
+                        discard(response);
+                        return rateGovernor
+                                .backoff(attempt)
+                                .thenCompose(ignored -> send(
+                                        request, idempotent, uriTemplate, responseHandler, deadlineNanos, attempt + 1));
+                    }
+                    return CompletableFuture.completedFuture(responseHandler.handle(response));
+                });
+    }
+
+    /**
+     * Sends the request, timing it until the response headers arrive.
+     */
+    private CompletableFuture<HttpResponse<InputStream>> timed(HttpRequest request, String uriTemplate) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .whenComplete((response, ex) -> sample.stop(Timer.builder("employee.upstream.requests")
+                        .description("Calls to the employee server, until the response headers arrive")
+                        .tag("method", request.method())
+                        .tag("uri", uriTemplate)
+                        .tag("status", ex != null ? "IO_ERROR" : Integer.toString(response.statusCode()))
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)));
+    }
+
+    /*
+     * Wraps rather than copies the freshly decoded lists; the employees in them are immutable.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T unmodifiable(T value) {
+        if (value instanceof List<?> list) {
+            return (T) Collections.unmodifiableList(list);
+        }
+        if (value instanceof ServerPage<?> page && page.items() != null) {
+            return (T) new ServerPage<>(Collections.unmodifiableList(page.items()), page.nextCursor(), page.version());
+        }
+        if (value instanceof EmployeeChangeSet changeSet && changeSet.changes() != null) {
+            return (T) new EmployeeChangeSet(
+                    changeSet.version(), changeSet.resyncRequired(), Collections.unmodifiableList(changeSet.changes()));
+        }
+        return value;
+    }
+
+    private <T> T decode(HttpResponse<InputStream> response, String uriTemplate, BodyDecoder<T> bodyDecoder) {
+        String contentCoding = response.headers()
+                .firstValue("Content-Encoding")
+                .map(coding -> coding.trim().toLowerCase(Locale.ROOT))
+                .orElse("identity");
+        try (CountingInputStream wireBody = new CountingInputStream(response.body());
+                CountingInputStream body = new CountingInputStream(decompressed(wireBody, contentCoding))) {
+            if (response.statusCode() != 200) {
+                throw new APIException(response.statusCode(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            WireFormat responseFormat = WireFormat.fromContentType(
+                    response.headers().firstValue("Content-Type").orElse(null));
+            Timer.Sample sample = Timer.start(meterRegistry);
+            T value = bodyDecoder.decode(responseDecoders.get(responseFormat), body);
+            sample.stop(Timer.builder("employee.upstream.decode")
+                    .description("Time to read and decode employee server response bodies")
+                    .tag("uri", uriTemplate)
+                    .tag("format", responseFormat.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            DistributionSummary.builder("employee.upstream.response.size")
+                    .description("Size of decoded employee server response bodies")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tag("uri", uriTemplate)
+                    .tag("format", responseFormat.name())
+                    .register(meterRegistry)
+                    .record(body.getCount());
+            DistributionSummary.builder("employee.upstream.response.wire.size")
+                    .description("Size of employee server response bodies as received, before decompression")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tag("uri", uriTemplate)
+                    .tag("encoding", contentCoding)
+                    .register(meterRegistry)
+                    .record(wireBody.getCount());
+            return value;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the path of {@code uri} without its query string and with an employee id replaced by {@code {id}}, so
+     * metrics tags stay few
+     */
+    static String uriTemplate(String uri) {
+        int queryStart = uri.indexOf('?');
+        String path = queryStart < 0 ? uri : uri.substring(0, queryStart);
+        if (STATIC_URIS.contains(path) || !path.startsWith(EMPLOYEE_URI + "/")) {
+            return path;
+        }
+        return EMPLOYEE_URI + "/{id}";
+    }
+
+    /**
+     * @return {@code body} decompressed as it is read, so the decoder parses straight from the response
+     */
+    private static InputStream decompressed(InputStream body, String contentCoding) throws IOException {
+        return switch (contentCoding) {
+            case "identity" -> body;
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, GZIP_BUFFER_SIZE);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> throw new IOException("Unsupported Content-Encoding " + contentCoding);
+        };
+    }
+
+    private static void discard(HttpResponse<InputStream> response) {
+        try (InputStream body = response.body()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(HttpResponse<InputStream> response);
+    }
+
+    @FunctionalInterface
+    private interface BodyDecoder<T> {
+        T decode(ServerResponseDecoder decoder, InputStream body) throws IOException;
+    }
 }
@@ -10,83 +10,187 @@ import com.reliaquest.api.model.Employee;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+/**
+ * Each operation comes in a future-returning variant, for callers that must not block while the employee server is
+ * called, and a blocking variant that waits for it.
+ * <p>
+ * Name search, highest salary and top-N queries are answered from the cached employees when a snapshot is held.
+ * Otherwise they are pushed down to the employee server if it answers them, and computed from the full list if not.
+ */
 @Component
 @Slf4j
 public class EmployeeService {
     private final EmployeeServerAPIClient employeeServerApiClient;
-    private static final TypeReference<List<Employee>> employeeListTypeReference = new TypeReference<>() {};
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+    private final SalaryIndex salaryIndex;
+    private final NameSearchIndex nameSearchIndex;
+    private final ServerQueries serverQueries;
     private static final TypeReference<Employee> employeeTypeReference = new TypeReference<>() {};
 
-    public EmployeeService(EmployeeServerAPIClient employeeServerApiClient) {
+    public EmployeeService(
+            EmployeeServerAPIClient employeeServerApiClient,
+            EmployeeSnapshotCache employeeSnapshotCache,
+            SalaryIndex salaryIndex,
+            NameSearchIndex nameSearchIndex,
+            ServerQueries serverQueries) {
         this.employeeServerApiClient = employeeServerApiClient;
+        this.employeeSnapshotCache = employeeSnapshotCache;
+        this.salaryIndex = salaryIndex;
+        this.nameSearchIndex = nameSearchIndex;
+        this.serverQueries = serverQueries;
     }
 
     public List<Employee> getAllEmployees() {
-        return employeeServerApiClient
-                .get("/api/v1/employee", employeeListTypeReference)
-                .join();
+        return await(getAllEmployeesAsync());
+    }
+
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync() {
+        return employeeSnapshotCache.getSnapshot().thenApply(EmployeeSnapshot::employees);
     }
 
     public List<Employee> getEmployeesByNameSearch(String searchString) {
-        List<Employee> employees = getAllEmployees();
-        log.debug("Searching for input string: {} in {} employees", searchString, employees.size());
+        return await(getEmployeesByNameSearchAsync(searchString));
+    }
 
-        return employees.stream()
-                .filter(e -> containsString(e.getName(), searchString))
-                .toList();
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearchAsync(String searchString) {
+        return query(
+                ServerQueries.Capability.SEARCH,
+                () -> serverQueries.searchByName(searchString),
+                () -> fromSnapshot(() -> nameSearchIndex.search(searchString), employees -> {
+                    log.debug("Searching for input string: {} in {} employees", searchString, employees.size());
+
+                    return employees.stream()
+                            .filter(e -> Objects.nonNull(e.getName()) && containsString(e.getName(), searchString))
+                            .toList();
+                }));
     }
 
     public Integer getHighestSalaryOfEmployees() {
-        List<Employee> allEmployees = getAllEmployees();
-        log.debug("Get highest salary of employee out of {} employees", allEmployees.size());
+        return await(getHighestSalaryOfEmployeesAsync());
+    }
 
-        return allEmployees.stream().mapToInt(Employee::getSalary).max().orElse(0);
+    public CompletableFuture<Integer> getHighestSalaryOfEmployeesAsync() {
+        return query(
+                ServerQueries.Capability.HIGHEST_SALARY,
+                serverQueries::getHighestSalary,
+                () -> fromSnapshot(salaryIndex::getHighestSalary, allEmployees -> {
+                    log.debug("Get highest salary of employee out of {} employees", allEmployees.size());
+
+                    return allEmployees.stream()
+                            .map(Employee::getSalary)
+                            .filter(Objects::nonNull)
+                            .mapToInt(Integer::intValue)
+                            .max()
+                            .orElse(0);
+                }));
     }
 
     public Employee getEmployeeById(String id) {
+        return await(getEmployeeByIdAsync(id));
+    }
+
+    public CompletableFuture<Employee> getEmployeeByIdAsync(String id) {
         log.debug("Getting employee for ID: {}", id);
 
-        return employeeServerApiClient
-                .get("/api/v1/employee/" + id, employeeTypeReference)
-                .join();
+        return employeeServerApiClient.get("/api/v1/employee/" + id, employeeTypeReference);
     }
 
     public List<String> getTopEmployeesBySalary(Integer limit) {
-        List<Employee> allEmployees = getAllEmployees();
-        log.debug("Returning top {} earning employees out of {} employees", limit, allEmployees.size());
+        return await(getTopEmployeesBySalaryAsync(limit));
+    }
 
-        return allEmployees.stream()
-                .sorted(Comparator.comparing(Employee::getSalary).reversed())
-                .limit(limit)
-                .map(Employee::getName)
-                .toList();
+    public CompletableFuture<List<String>> getTopEmployeesBySalaryAsync(Integer limit) {
+        return query(
+                ServerQueries.Capability.TOP_BY_SALARY,
+                () -> serverQueries.getTopEmployeeNames(limit),
+                () -> fromSnapshot(() -> salaryIndex.getTopEmployeeNames(limit), allEmployees -> {
+                    log.debug("Returning top {} earning employees out of {} employees", limit, allEmployees.size());
+
+                    return allEmployees.stream()
+                            .filter(e -> Objects.nonNull(e.getSalary()))
+                            .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                            .limit(limit)
+                            .map(Employee::getName)
+                            .toList();
+                }));
     }
 
     public Employee createEmployee(EmployeeCreationInput input) {
+        return await(createEmployeeAsync(input));
+    }
+
+    public CompletableFuture<Employee> createEmployeeAsync(EmployeeCreationInput input) {
         return employeeServerApiClient
                 .post("/api/v1/employee", input, employeeTypeReference)
-                .join();
+                .thenApply(createdEmployee -> {
+                    employeeSnapshotCache.onEmployeeCreated(createdEmployee);
+                    return createdEmployee;
+                });
     }
 
     public String deleteEmployee(String id) {
+        return await(deleteEmployeeAsync(id));
+    }
+
+    public CompletableFuture<String> deleteEmployeeAsync(String id) {
         log.debug("Deleting employee with ID: {}", id);
-        Employee employee = getEmployeeById(id);
-
-        boolean isDeleted = Objects.nonNull(employee)
-                ? employeeServerApiClient
-                        .delete("/api/v1/employee", new DeleteEmployeeInput(employee.getName()))
-                        .join()
-                : false;
-
-        if (isDeleted) {
-            log.debug("Employee deleted with ID: {}", employee.getId());
-            return employee.getName();
-        } else {
-            log.error("Delete Employee: Employee not found with ID: {}", id);
-            throw new APIException(400, "Employee not found with ID %s".formatted(id));
+
+        return getEmployeeByIdAsync(id).thenCompose(employee -> {
+            CompletableFuture<Boolean> isDeleted = Objects.nonNull(employee)
+                    ? employeeServerApiClient.delete("/api/v1/employee", DeleteEmployeeInput.byId(employee.getId()))
+                    : CompletableFuture.completedFuture(false);
+
+            return isDeleted.thenApply(deleted -> {
+                if (deleted) {
+                    log.debug("Employee deleted with ID: {}", employee.getId());
+                    employeeSnapshotCache.onEmployeeDeleted(employee);
+                    return employee.getName();
+                } else {
+                    log.error("Delete Employee: Employee not found with ID: {}", id);
+                    throw new APIException(400, "Employee not found with ID %s".formatted(id));
+                }
+            });
+        });
+    }
+
+    private <T> CompletableFuture<T> query(
+            ServerQueries.Capability capability,
+            Supplier<CompletableFuture<T>> onServer,
+            Supplier<CompletableFuture<T>> onSnapshot) {
+        if (employeeSnapshotCache.hasSnapshot()) {
+            return onSnapshot.get();
+        }
+        return serverQueries.supports(capability).thenCompose(supported -> {
+            log.debug("Answering {} query {}", capability, supported ? "on employee server" : "from full list");
+            return supported ? onServer.get() : onSnapshot.get();
+        });
+    }
+
+    /**
+     * Answers from the indexes when they are kept in step with a held snapshot, read with updates held off. Otherwise,
+     * as in UPSTREAM mode where no indexes are kept, answers from the employees just read.
+     */
+    private <T> CompletableFuture<T> fromSnapshot(Supplier<T> fromIndexes, Function<List<Employee>, T> fromEmployees) {
+        return employeeSnapshotCache.getSnapshot().thenApply(snapshot -> employeeSnapshotCache
+                .read(ignored -> fromIndexes.get())
+                .orElseGet(() -> fromEmployees.apply(snapshot.employees())));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof APIException apiException) {
+                throw apiException;
+            }
+            throw e;
         }
     }
 }
@@ -0,0 +1,55 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+record EmployeeSnapshot(long version, List<Employee> employees, Instant loadedAt) {
+
+    static EmployeeSnapshot of(long version, List<Employee> employees) {
+        return new EmployeeSnapshot(version, List.copyOf(employees), Instant.now());
+    }
+
+    boolean isExpired(Duration ttl) {
+        return !Instant.now().isBefore(loadedAt.plus(ttl));
+    }
+
+    /**
+     * @return the same employees, treated as just loaded
+     */
+    EmployeeSnapshot refreshed() {
+        return new EmployeeSnapshot(version, employees, Instant.now());
+    }
+
+    /**
+     * Applies writes made through this api, keeping the load time. Like every change this copies the whole list, so
+     * callers batch the writes made since the last read into one call rather than copying once per write.
+     */
+    EmployeeSnapshot withLocalChanges(List<EmployeeChange> changes) {
+        return withChanges(changes.get(changes.size() - 1).version(), changes, loadedAt);
+    }
+
+    /**
+     * Applies changes read from the employee server, treating the snapshot as just loaded.
+     */
+    EmployeeSnapshot withChanges(long nextVersion, List<EmployeeChange> changes) {
+        return withChanges(nextVersion, changes, Instant.now());
+    }
+
+    private EmployeeSnapshot withChanges(long nextVersion, List<EmployeeChange> changes, Instant loadedAt) {
+        Map<UUID, Employee> employeesById = new LinkedHashMap<>();
+        employees.forEach(employee -> employeesById.put(employee.getId(), employee));
+        for (EmployeeChange change : changes) {
+            UUID id = change.employee().getId();
+            switch (change.type()) {
+                case CREATED -> employeesById.put(id, change.employee());
+                case DELETED -> employeesById.remove(id);
+            }
+        }
+        return new EmployeeSnapshot(nextVersion, List.copyOf(employeesById.values()), loadedAt);
+    }
+}
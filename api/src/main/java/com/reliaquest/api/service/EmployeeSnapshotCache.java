@@ -0,0 +1,397 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the last decoded employee list fetched from the employee server and keeps the registered
+ * {@link EmployeeIndex indexes} in step with it. In {@link ConsistencyMode#CACHED} mode a snapshot older than the TTL
+ * is still served while a single background refresh replaces it. In UPSTREAM mode without delta sync nothing is
+ * kept: every read returns just the list it read and the indexes are not maintained. With a positive
+ * {@code employee.upstream.page-size} the list is read page by page instead of in one response.
+ * <p>
+ * With {@code employee.cache.delta-sync} enabled only the first load reads the full list; later loads ask the
+ * employee server for the changes since the version of the last read and apply them, falling back to a full read when
+ * the server can no longer provide them.
+ * <p>
+ * Creates and deletes made through this api are buffered and applied to the snapshot and the indexes in one pass by
+ * the next read, so a burst of writes copies the list once rather than once per write. A load that was sent before
+ * such a write may not include it, so the writes made since a load started are applied again to what it read; a load
+ * that started before the one last published is dropped.
+ * <p>
+ * Reports lookups by result, loads by kind and the size and age of the current snapshot as {@code employee.cache.*}
+ * meters.
+ */
+@Slf4j
+@Component
+class EmployeeSnapshotCache implements MeterBinder {
+    private static final String EMPLOYEES_URI = "/api/v1/employee";
+    private static final String CHANGES_URI = "/api/v1/employee/changes?since=";
+    private static final TypeReference<List<Employee>> employeeListTypeReference = new TypeReference<>() {};
+    private static final TypeReference<EmployeeChangeSet> changeSetTypeReference = new TypeReference<>() {};
+
+    private final EmployeeServerAPIClient employeeServerApiClient;
+    private final List<EmployeeIndex> indexes;
+    private final ConsistencyMode mode;
+    private final Duration ttl;
+    private final int pageSize;
+    private final boolean deltaSync;
+    private final boolean keepsSnapshot;
+    private final AtomicLong versions = new AtomicLong();
+    private final AtomicReference<EmployeeSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<EmployeeSnapshot>> refresh = new AtomicReference<>();
+    /* Readers of the snapshot and the indexes share it; publishing and applying writes take it exclusively. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder fullLoads = new LongAdder();
+    private final LongAdder deltaLoads = new LongAdder();
+    /* Writes made through this api, by snapshot version, until a load started after them is published. */
+    private final Deque<EmployeeChange> localChanges = new ArrayDeque<>();
+    /* Writes not yet applied to the snapshot, oldest first. */
+    private final List<EmployeeChange> pendingChanges = new ArrayList<>();
+    private volatile boolean changesPending;
+    private List<Employee> lastPublished;
+    private long lastLoadStartedAt = -1;
+    private volatile Long serverVersion;
+
+    public EmployeeSnapshotCache(
+            EmployeeServerAPIClient employeeServerApiClient,
+            List<EmployeeIndex> indexes,
+            @Value("${employee.cache.mode:UPSTREAM}") ConsistencyMode mode,
+            @Value("${employee.cache.ttl:5s}") Duration ttl,
+            @Value("${employee.upstream.page-size:0}") int pageSize,
+            @Value("${employee.cache.delta-sync:false}") boolean deltaSync) {
+        this.employeeServerApiClient = employeeServerApiClient;
+        this.indexes = indexes;
+        this.mode = mode;
+        this.ttl = ttl;
+        this.pageSize = pageSize;
+        this.deltaSync = deltaSync;
+        this.keepsSnapshot = mode == ConsistencyMode.CACHED || deltaSync;
+    }
+
+    public CompletableFuture<EmployeeSnapshot> getSnapshot() {
+        if (mode == ConsistencyMode.UPSTREAM) {
+            return load();
+        }
+
+        applyPendingChanges();
+        EmployeeSnapshot current = snapshot.get();
+        if (current == null) {
+            misses.increment();
+            return refresh();
+        }
+        if (current.isExpired(ttl)) {
+            staleHits.increment();
+            log.debug("Serving stale employee snapshot version {} while refreshing", current.version());
+            refresh();
+        } else {
+            hits.increment();
+        }
+        return CompletableFuture.completedFuture(current);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        lookupCounter(registry, "hit", hits);
+        lookupCounter(registry, "stale", staleHits);
+        lookupCounter(registry, "miss", misses);
+        FunctionCounter.builder("employee.cache.loads", fullLoads, LongAdder::sum)
+                .description("Reads of the employee list from the employee server")
+                .tag("kind", "full")
+                .register(registry);
+        FunctionCounter.builder("employee.cache.loads", deltaLoads, LongAdder::sum)
+                .tag("kind", "delta")
+                .register(registry);
+        Gauge.builder("employee.cache.size", this, cache -> cache.currentSize())
+                .description("Employees in the current snapshot")
+                .register(registry);
+        TimeGauge.builder("employee.cache.age", this, TimeUnit.MILLISECONDS, cache -> cache.currentAgeMillis())
+                .description("Time since the current snapshot was loaded")
+                .register(registry);
+    }
+
+    private int currentSize() {
+        EmployeeSnapshot current = snapshot.get();
+        return current == null ? 0 : current.employees().size();
+    }
+
+    private long currentAgeMillis() {
+        EmployeeSnapshot current = snapshot.get();
+        return current == null
+                ? 0
+                : Duration.between(current.loadedAt(), Instant.now()).toMillis();
+    }
+
+    private static void lookupCounter(MeterRegistry registry, String result, LongAdder count) {
+        FunctionCounter.builder("employee.cache.lookups", count, LongAdder::sum)
+                .description("Snapshot lookups in CACHED mode, by whether a fresh, stale or no snapshot was held")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * @return whether {@link #getSnapshot()} completes without waiting for the employee server
+     */
+    public boolean hasSnapshot() {
+        return mode == ConsistencyMode.CACHED && snapshot.get() != null;
+    }
+
+    /**
+     * Applies {@code reader} to the current snapshot with updates held off, so the indexes it reads are in step with
+     * that snapshot. Readers do not hold each other off. Like {@link #getSnapshot()}, reading a snapshot older than the
+     * TTL starts a background refresh.
+     *
+     * @return the result of {@code reader}, or empty if {@link #hasSnapshot()} is false
+     */
+    public <T> Optional<T> read(Function<EmployeeSnapshot, T> reader) {
+        if (!hasSnapshot()) {
+            return Optional.empty();
+        }
+        applyPendingChanges();
+        if (snapshot.get().isExpired(ttl)) {
+            refresh();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(reader.apply(snapshot.get()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onEmployeeCreated(Employee employee) {
+        applyLocal(EmployeeChange.Type.CREATED, employee);
+    }
+
+    public void onEmployeeDeleted(Employee employee) {
+        applyLocal(EmployeeChange.Type.DELETED, employee);
+    }
+
+    private CompletableFuture<EmployeeSnapshot> refresh() {
+        while (true) {
+            CompletableFuture<EmployeeSnapshot> inFlight = refresh.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+
+            CompletableFuture<EmployeeSnapshot> next = new CompletableFuture<>();
+            if (refresh.compareAndSet(null, next)) {
+                load().whenComplete((loaded, ex) -> {
+                    refresh.set(null);
+                    if (ex != null) {
+                        log.warn("Failed to refresh employee snapshot", ex);
+                        next.completeExceptionally(ex);
+                    } else {
+                        next.complete(loaded);
+                    }
+                });
+                return next;
+            }
+        }
+    }
+
+    private CompletableFuture<EmployeeSnapshot> load() {
+        long startedAt = versions.get();
+        Long since = serverVersion;
+        if (deltaSync && snapshot.get() != null && since != null) {
+            deltaLoads.increment();
+            return employeeServerApiClient
+                    .get(CHANGES_URI + since, changeSetTypeReference)
+                    .thenCompose(changeSet -> {
+                        if (changeSet.resyncRequired()) {
+                            log.debug("Employee server cannot provide changes since {}, reloading", since);
+                            return loadAll(startedAt);
+                        }
+                        return CompletableFuture.completedFuture(apply(changeSet, startedAt));
+                    });
+        }
+        return loadAll(startedAt);
+    }
+
+    private CompletableFuture<EmployeeSnapshot> loadAll(long startedAt) {
+        fullLoads.increment();
+        if (deltaSync || pageSize > 0) {
+            return employeeServerApiClient
+                    .getAllPages(EMPLOYEES_URI, pageSize, employeeListTypeReference)
+                    .thenApply(page -> publish(page.items(), page.version(), startedAt));
+        }
+        return employeeServerApiClient
+                .get(EMPLOYEES_URI, employeeListTypeReference)
+                .thenApply(employees -> publish(employees, null, startedAt));
+    }
+
+    private EmployeeSnapshot apply(EmployeeChangeSet changeSet, long startedAt) {
+        lock.writeLock().lock();
+        try {
+            applyPendingChangesLocked();
+            EmployeeSnapshot current = snapshot.get();
+            Long appliedVersion = serverVersion;
+            if (isStale(startedAt) || appliedVersion != null && changeSet.version() <= appliedVersion) {
+                return current;
+            }
+
+            List<EmployeeChange> changes = changeSet.changes().stream()
+                    .filter(change -> appliedVersion == null || change.version() > appliedVersion)
+                    .toList();
+            List<EmployeeChange> missed = localChangesSince(startedAt);
+            EmployeeSnapshot updated =
+                    changes.isEmpty() ? current.refreshed() : current.withChanges(versions.incrementAndGet(), changes);
+            if (!changes.isEmpty() && !missed.isEmpty()) {
+                updated = updated.withChanges(versions.incrementAndGet(), missed);
+            }
+            snapshot.set(updated);
+            serverVersion = changeSet.version();
+            changes.forEach(this::applyToIndexes);
+            if (!changes.isEmpty()) {
+                missed.forEach(this::applyToIndexes);
+            }
+            log.debug(
+                    "Applied {} employee changes up to server version {} to snapshot version {}",
+                    changes.size(),
+                    changeSet.version(),
+                    updated.version());
+            return updated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private EmployeeSnapshot publish(List<Employee> employees, Long version, long startedAt) {
+        if (!keepsSnapshot) {
+            return EmployeeSnapshot.of(versions.incrementAndGet(), employees);
+        }
+        lock.writeLock().lock();
+        try {
+            EmployeeSnapshot current = snapshot.get();
+            if (isStale(startedAt)) {
+                log.debug("Dropping employee list read before the last published one");
+                applyPendingChangesLocked();
+                return snapshot.get();
+            }
+            if (current != null && employees == lastPublished) {
+                applyPendingChangesLocked();
+                // Same decoded list as last time: a coalesced duplicate or a 304 Not Modified
+                localChangesSince(startedAt);
+                EmployeeSnapshot refreshed = snapshot.get().refreshed();
+                snapshot.set(refreshed);
+                serverVersion = version;
+                return refreshed;
+            }
+
+            EmployeeSnapshot read = EmployeeSnapshot.of(versions.incrementAndGet(), employees);
+            List<EmployeeChange> missed = localChangesSince(startedAt);
+            EmployeeSnapshot loaded = missed.isEmpty() ? read : read.withChanges(versions.incrementAndGet(), missed);
+            // Pending writes are in what was read or among the missed ones, and the indexes are rebuilt below
+            pendingChanges.clear();
+            changesPending = false;
+            snapshot.set(loaded);
+            lastPublished = employees;
+            serverVersion = version;
+            indexes.forEach(index -> index.rebuild(loaded.employees()));
+            log.debug("Loaded employee snapshot version {} with {} employees", loaded.version(), employees.size());
+            return loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyLocal(EmployeeChange.Type type, Employee employee) {
+        if (!keepsSnapshot) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            EmployeeChange change = new EmployeeChange(versions.incrementAndGet(), type, employee);
+            localChanges.addLast(change);
+            if (snapshot.get() != null) {
+                pendingChanges.add(change);
+                changesPending = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyPendingChanges() {
+        if (!changesPending) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            applyPendingChangesLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Called with the write lock held.
+     */
+    private void applyPendingChangesLocked() {
+        if (pendingChanges.isEmpty()) {
+            return;
+        }
+        snapshot.set(snapshot.get().withLocalChanges(pendingChanges));
+        pendingChanges.forEach(this::applyToIndexes);
+        pendingChanges.clear();
+        changesPending = false;
+    }
+
+    private void applyToIndexes(EmployeeChange change) {
+        switch (change.type()) {
+            case CREATED -> indexes.forEach(index -> index.add(change.employee()));
+            case DELETED -> indexes.forEach(index -> index.remove(change.employee()));
+        }
+    }
+
+    /*
+     * Called with the write lock held. A load started after an earlier published one supersedes it.
+     */
+    private boolean isStale(long startedAt) {
+        if (startedAt < lastLoadStartedAt) {
+            return true;
+        }
+        lastLoadStartedAt = startedAt;
+        return false;
+    }
+
+    /*
+     * Called with the write lock held. The writes made before the load started are in what it read, since they were
+     * made on the employee server first, so they are no longer needed.
+     */
+    private List<EmployeeChange> localChangesSince(long startedAt) {
+        localChanges.removeIf(change -> change.version() <= startedAt);
+        return List.copyOf(localChanges);
+    }
+
+    enum ConsistencyMode {
+        UPSTREAM,
+        CACHED
+    }
+}
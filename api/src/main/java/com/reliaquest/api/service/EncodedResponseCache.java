@@ -0,0 +1,209 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the JSON encoded responses of the all employees, highest salary and top ten endpoints for the current
+ * {@link EmployeeSnapshot snapshot} version, so unchanged data is not serialized again for every request. Responses
+ * are only cached while a snapshot is held; until then, and in {@link EmployeeSnapshotCache.ConsistencyMode#UPSTREAM}
+ * mode, they are answered as before.
+ * <p>
+ * When the version changes, the first request for an endpoint encodes it again; requests arriving meanwhile neither
+ * repeat nor wait for that encoding, they are answered as before. The gzip form of a response is compressed the first
+ * time it is asked for.
+ * <p>
+ * The ETag of a response is a hash of its identity form, so it is strong, and the same across restarts and instances
+ * serving the same data. Encodings are counted as {@code employee.response-cache.encodings}, tagged by endpoint.
+ */
+@Slf4j
+@Component
+public class EncodedResponseCache {
+    private static final int TOP_TEN = 10;
+    private static final int ETAG_HASH_BYTES = 16;
+
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+    private final SalaryIndex salaryIndex;
+    private final ObjectMapper objectMapper;
+    private final Map<Endpoint, AtomicReference<EncodedResponse>> responses = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicBoolean> encoding = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> encodings = new EnumMap<>(Endpoint.class);
+
+    public EncodedResponseCache(
+            EmployeeSnapshotCache employeeSnapshotCache,
+            SalaryIndex salaryIndex,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.employeeSnapshotCache = employeeSnapshotCache;
+        this.salaryIndex = salaryIndex;
+        this.objectMapper = objectMapper;
+        for (Endpoint endpoint : Endpoint.values()) {
+            responses.put(endpoint, new AtomicReference<>());
+            encoding.put(endpoint, new AtomicBoolean());
+            encodings.put(
+                    endpoint,
+                    Counter.builder("employee.response-cache.encodings")
+                            .description("Responses encoded because the snapshot version changed")
+                            .tag("endpoint", endpoint.name())
+                            .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @return the encoded response for the current snapshot, or empty if no snapshot is held or another request is
+     *     encoding it
+     */
+    public Optional<EncodedResponse> get(Endpoint endpoint) {
+        if (!employeeSnapshotCache.hasSnapshot()) {
+            return Optional.empty();
+        }
+
+        // Completed while a snapshot is held; an expired one is refreshed in the background, as for any other read
+        EmployeeSnapshot snapshot = employeeSnapshotCache.getSnapshot().getNow(null);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        EncodedResponse current = responses.get(endpoint).get();
+        if (current != null && current.version() >= snapshot.version()) {
+            return Optional.of(current);
+        }
+
+        if (!encoding.get(endpoint).compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return encode(endpoint);
+        } finally {
+            encoding.get(endpoint).set(false);
+        }
+    }
+
+    private Optional<EncodedResponse> encode(Endpoint endpoint) {
+        return employeeSnapshotCache
+                .read(snapshot -> new VersionedBody(snapshot.version(), body(endpoint, snapshot)))
+                .map(body -> {
+                    EncodedResponse encoded = encode(body.version(), body.value());
+                    encodings.get(endpoint).increment();
+                    log.debug("Encoded {} response for snapshot version {}", endpoint, body.version());
+                    return responses
+                            .get(endpoint)
+                            .accumulateAndGet(
+                                    encoded,
+                                    (previous, next) ->
+                                            previous != null && previous.version() > next.version() ? previous : next);
+                });
+    }
+
+    private Object body(Endpoint endpoint, EmployeeSnapshot snapshot) {
+        return switch (endpoint) {
+            case ALL_EMPLOYEES -> snapshot.employees();
+            case HIGHEST_SALARY -> salaryIndex.getHighestSalary();
+            case TOP_TEN_NAMES -> salaryIndex.getTopEmployeeNames(TOP_TEN);
+        };
+    }
+
+    private EncodedResponse encode(long version, Object body) {
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(body);
+            return new EncodedResponse(version, eTag(identity), identity);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static String eTag(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, ETAG_HASH_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public enum Endpoint {
+        ALL_EMPLOYEES,
+        HIGHEST_SALARY,
+        TOP_TEN_NAMES
+    }
+
+    public static final class EncodedResponse {
+        private final long version;
+        private final String hash;
+        private final byte[] identity;
+        private final Lock gzipLock = new ReentrantLock();
+        private volatile Optional<byte[]> gzip;
+
+        EncodedResponse(long version, String hash, byte[] identity) {
+            this.version = version;
+            this.hash = hash;
+            this.identity = identity;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public byte[] identity() {
+            return identity;
+        }
+
+        /**
+         * @return the gzip compressed body, compressed on the first call, or empty if compressing does not make it
+         *     smaller
+         */
+        public Optional<byte[]> gzip() {
+            Optional<byte[]> compressed = gzip;
+            if (compressed != null) {
+                return compressed;
+            }
+            gzipLock.lock();
+            try {
+                if (gzip == null) {
+                    byte[] bytes = EncodedResponseCache.gzip(identity);
+                    gzip = bytes.length < identity.length ? Optional.of(bytes) : Optional.empty();
+                }
+                return gzip;
+            } finally {
+                gzipLock.unlock();
+            }
+        }
+
+        /**
+         * @return the quoted ETag of the identity or gzip form, which differ since their bytes do
+         */
+        public String eTag(boolean gzipped) {
+            return gzipped ? "\"" + hash + "-gzip\"" : "\"" + hash + "\"";
+        }
+    }
+
+    private record VersionedBody(long version, Object value) {}
+}
@@ -0,0 +1,139 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inverted index from every trigram of the lower-cased employee names to the employees containing it. Search strings
+ * of three or more characters are answered by verifying the employees of their rarest trigram; shorter ones, which
+ * match too many names for an index to pay off, by scanning all employees.
+ */
+@Component
+class NameSearchIndex implements EmployeeIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, IndexedEmployee> employeesById = new LinkedHashMap<>();
+    private final Map<String, Set<IndexedEmployee>> employeesByGram = new HashMap<>();
+
+    @Override
+    public void rebuild(List<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            employeesById.clear();
+            employeesByGram.clear();
+            employees.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            put(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            unindex(employee.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Employee> search(String searchString) {
+        String query = searchString.toLowerCase();
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM_LENGTH) {
+                return matching(employeesById.values(), query);
+            }
+
+            Set<IndexedEmployee> candidates = null;
+            for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                Set<IndexedEmployee> posting = employeesByGram.get(query.substring(i, i + GRAM_LENGTH));
+                if (posting == null) {
+                    return List.of();
+                }
+                if (candidates == null || posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+
+            return matching(candidates, query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Employee> matching(Collection<IndexedEmployee> candidates, String query) {
+        List<Employee> matches = new ArrayList<>();
+        for (IndexedEmployee candidate : candidates) {
+            if (candidate.normalizedName().contains(query)) {
+                matches.add(candidate.employee());
+            }
+        }
+        return matches;
+    }
+
+    private void put(Employee employee) {
+        if (Objects.isNull(employee.getId()) || Objects.isNull(employee.getName())) {
+            return;
+        }
+
+        unindex(employee.getId());
+        IndexedEmployee indexed =
+                new IndexedEmployee(employee, employee.getName().toLowerCase());
+        employeesById.put(employee.getId(), indexed);
+        for (String gram : grams(indexed.normalizedName())) {
+            employeesByGram
+                    .computeIfAbsent(gram, ignored -> new LinkedHashSet<>())
+                    .add(indexed);
+        }
+    }
+
+    private void unindex(UUID id) {
+        IndexedEmployee indexed = employeesById.remove(id);
+        if (indexed == null) {
+            return;
+        }
+
+        for (String gram : grams(indexed.normalizedName())) {
+            Set<IndexedEmployee> posting = employeesByGram.get(gram);
+            posting.remove(indexed);
+            if (posting.isEmpty()) {
+                employeesByGram.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String name) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            grams.add(name.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private record IndexedEmployee(Employee employee, String normalizedName) {}
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shares one upstream call between all callers that ask for the same key while that call is in flight.
+ */
+@Slf4j
+class RequestCoalescer {
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder callers = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String key, Supplier<CompletableFuture<T>> upstreamCall) {
+        callers.increment();
+        Flight leader = new Flight();
+        Flight current = inFlight.putIfAbsent(key, leader);
+        if (current != null) {
+            current.callers.incrementAndGet();
+            return (CompletableFuture<T>) current.result.copy();
+        }
+
+        upstreamCalls.increment();
+        CompletableFuture<T> call;
+        try {
+            call = upstreamCall.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((value, ex) -> {
+            inFlight.remove(key, leader);
+            log.debug("Upstream call for {} served {} callers", key, leader.callers.get());
+            if (ex != null) {
+                leader.result.completeExceptionally(ex);
+            } else {
+                leader.result.complete(value);
+            }
+        });
+        return (CompletableFuture<T>) leader.result.copy();
+    }
+
+    public long getUpstreamCalls() {
+        return upstreamCalls.sum();
+    }
+
+    public long getCallers() {
+        return callers.sum();
+    }
+
+    public double getFanInRatio() {
+        long calls = getUpstreamCalls();
+        return calls == 0 ? 0 : (double) getCallers() / calls;
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+    }
+}
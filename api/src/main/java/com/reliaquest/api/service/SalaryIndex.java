@@ -0,0 +1,295 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Employees ordered by salary, highest first, in a treap whose nodes track their subtree size. Employees sharing a
+ * salary keep the order they were added in. Besides the top-N walk this answers rank, range and percentile queries in
+ * logarithmic time.
+ */
+@Component
+class SalaryIndex implements EmployeeIndex {
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Node> nodesById = new HashMap<>();
+    private Node root;
+    private long sequence;
+    private volatile int highestSalary;
+
+    @Override
+    public void rebuild(List<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            root = null;
+            nodesById.clear();
+            employees.forEach(this::put);
+            updateHighestSalary();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            put(employee);
+            updateHighestSalary();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            unindex(employee.getId());
+            updateHighestSalary();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int getHighestSalary() {
+        return highestSalary;
+    }
+
+    public List<String> getTopEmployeeNames(int limit) {
+        lock.readLock().lock();
+        try {
+            return slice(0, limit).stream().map(Employee::getName).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countInRange(int minSalary, int maxSalary) {
+        lock.readLock().lock();
+        try {
+            return Math.max(0, countEarningAtLeast(minSalary) - countEarningAbove(maxSalary));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Employee> getInRange(int minSalary, int maxSalary, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int from = countEarningAbove(maxSalary) + offset;
+            int to = countEarningAtLeast(minSalary);
+            return from >= to ? List.of() : slice(from, Math.min(limit, to - from));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 1 plus the number of employees earning strictly more, or empty if the employee is not indexed
+     */
+    public OptionalInt getRank(UUID id) {
+        lock.readLock().lock();
+        try {
+            Node node = nodesById.get(id);
+            return node == null ? OptionalInt.empty() : OptionalInt.of(countEarningAbove(node.salary) + 1);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param percentile in the range (0, 100]
+     * @return the nearest-rank percentile salary, or empty if no employees are indexed
+     */
+    public OptionalInt getPercentile(double percentile) {
+        lock.readLock().lock();
+        try {
+            int size = size(root);
+            if (size == 0) {
+                return OptionalInt.empty();
+            }
+            int ascendingRank = Math.max(1, (int) Math.ceil(percentile / 100 * size));
+            return OptionalInt.of(select(root, size - Math.min(ascendingRank, size)).salary);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Employee employee) {
+        if (Objects.isNull(employee.getId()) || Objects.isNull(employee.getSalary())) {
+            return;
+        }
+
+        unindex(employee.getId());
+        Node node = new Node(employee, sequence++);
+        nodesById.put(employee.getId(), node);
+        Node[] parts = split(root, node);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    private void unindex(UUID id) {
+        Node node = nodesById.remove(id);
+        if (node != null) {
+            root = delete(root, node);
+        }
+    }
+
+    private void updateHighestSalary() {
+        highestSalary = root == null ? 0 : select(root, 0).salary;
+    }
+
+    private int countEarningAbove(int salary) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.salary > salary) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private int countEarningAtLeast(int salary) {
+        return salary == Integer.MIN_VALUE ? size(root) : countEarningAbove(salary - 1);
+    }
+
+    private List<Employee> slice(int from, int limit) {
+        List<Employee> employees = new ArrayList<>();
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int skip = from;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (skip < leftSize) {
+                path.push(node);
+                node = node.left;
+            } else if (skip == leftSize) {
+                path.push(node);
+                break;
+            } else {
+                skip -= leftSize + 1;
+                node = node.right;
+            }
+        }
+
+        while (!path.isEmpty() && employees.size() < limit) {
+            Node next = path.pop();
+            employees.add(next.employee);
+            for (Node child = next.right; child != null; child = child.left) {
+                path.push(child);
+            }
+        }
+        return employees;
+    }
+
+    private static Node select(Node node, int index) {
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Splits {@code node} into the nodes ordered before {@code key} and the remaining ones.
+     */
+    private static Node[] split(Node node, Node key) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (node.compareTo(key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            return new Node[] {node, parts[1]};
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        node.update();
+        return new Node[] {parts[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node delete(Node node, Node key) {
+        if (node == null) {
+            return null;
+        }
+        if (node == key) {
+            return merge(node.left, node.right);
+        }
+        if (key.compareTo(node) < 0) {
+            node.left = delete(node.left, key);
+        } else {
+            node.right = delete(node.right, key);
+        }
+        node.update();
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node implements Comparable<Node> {
+        private final Employee employee;
+        private final int salary;
+        private final long sequence;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(Employee employee, long sequence) {
+            this.employee = employee;
+            this.salary = employee.getSalary();
+            this.sequence = sequence;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+
+        @Override
+        public int compareTo(Node other) {
+            int bySalary = Integer.compare(other.salary, salary);
+            return bySalary != 0 ? bySalary : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.reliaquest.api.service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One page of a list read from the employee server.
+ *
+ * @param nextCursor cursor to request the following page with, or null if this is the last page
+ * @param version employee server version the page reflects at least, or null if the server did not report one
+ */
+record ServerPage<T>(List<T> items, String nextCursor, Long version) {
+
+    public boolean hasNext() {
+        return Objects.nonNull(nextCursor);
+    }
+}
@@ -0,0 +1,139 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.reliaquest.api.exception.APIException;
+import com.reliaquest.api.model.Employee;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asks the employee server to answer name search, highest salary and top-N queries itself, so only their results are
+ * transferred instead of every employee. Which queries the server answers is read from its capabilities endpoint on
+ * first use and again once {@code employee.query.capabilities-ttl} has passed; a server without that endpoint answers
+ * none. Nothing is pushed down unless {@code employee.query.pushdown} is enabled.
+ */
+@Slf4j
+@Component
+class ServerQueries {
+    private static final String CAPABILITIES_URI = "/api/v1/employee/capabilities";
+    private static final String SEARCH_URI = "/api/v1/employee/search?name=";
+    private static final String HIGHEST_SALARY_URI = "/api/v1/employee/salary/max";
+    private static final String TOP_BY_SALARY_URI = "/api/v1/employee/salary/top?limit=";
+    private static final TypeReference<List<String>> capabilitiesTypeReference = new TypeReference<>() {};
+    private static final TypeReference<List<Employee>> employeeListTypeReference = new TypeReference<>() {};
+    private static final TypeReference<Integer> salaryTypeReference = new TypeReference<>() {};
+
+    private final EmployeeServerAPIClient employeeServerApiClient;
+    private final boolean enabled;
+    private final Duration capabilitiesTtl;
+    private final AtomicReference<Probe> probe = new AtomicReference<>();
+
+    public ServerQueries(
+            EmployeeServerAPIClient employeeServerApiClient,
+            @Value("${employee.query.pushdown:false}") boolean enabled,
+            @Value("${employee.query.capabilities-ttl:5m}") Duration capabilitiesTtl) {
+        this.employeeServerApiClient = employeeServerApiClient;
+        this.enabled = enabled;
+        this.capabilitiesTtl = capabilitiesTtl;
+    }
+
+    public CompletableFuture<Boolean> supports(Capability capability) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return capabilities().thenApply(capabilities -> capabilities.contains(capability.key));
+    }
+
+    public CompletableFuture<List<Employee>> searchByName(String searchString) {
+        return employeeServerApiClient
+                .get(SEARCH_URI + URLEncoder.encode(searchString, StandardCharsets.UTF_8), employeeListTypeReference)
+                .thenApply(employees -> Objects.requireNonNullElse(employees, List.of()));
+    }
+
+    /**
+     * @return the highest salary, or 0 if there are no employees
+     */
+    public CompletableFuture<Integer> getHighestSalary() {
+        return employeeServerApiClient
+                .get(HIGHEST_SALARY_URI, salaryTypeReference)
+                .thenApply(salary -> Objects.requireNonNullElse(salary, 0));
+    }
+
+    public CompletableFuture<List<String>> getTopEmployeeNames(int limit) {
+        return employeeServerApiClient
+                .get(TOP_BY_SALARY_URI + limit, employeeListTypeReference)
+                .thenApply(employees -> Objects.requireNonNullElse(employees, List.<Employee>of()).stream()
+                        .map(Employee::getName)
+                        .toList());
+    }
+
+    /**
+     * @return the server's capabilities, probing for them if they are not known or have expired. A failed probe
+     * answers none and is retried by the next caller.
+     */
+    private CompletableFuture<Set<String>> capabilities() {
+        while (true) {
+            Probe current = probe.get();
+            long now = System.nanoTime();
+            if (current != null && now - current.expiresAtNanos() < 0) {
+                return current.capabilities();
+            }
+
+            Probe next = new Probe(new CompletableFuture<>(), now + capabilitiesTtl.toNanos());
+            if (probe.compareAndSet(current, next)) {
+                employeeServerApiClient
+                        .get(CAPABILITIES_URI, capabilitiesTypeReference)
+                        .whenComplete((capabilities, ex) -> {
+                            if (ex == null) {
+                                log.info("Employee server answers queries: {}", capabilities);
+                                next.capabilities()
+                                        .complete(Set.copyOf(Objects.requireNonNullElse(capabilities, List.of())));
+                            } else if (isUnsupported(ex)) {
+                                log.info("Employee server answers no queries, computing them from the full list");
+                                next.capabilities().complete(Set.of());
+                            } else {
+                                log.warn("Failed to read employee server capabilities", ex);
+                                probe.compareAndSet(next, null);
+                                next.capabilities().complete(Set.of());
+                            }
+                        });
+                return next.capabilities();
+            }
+        }
+    }
+
+    /*
+     * A client error other than 429 means the server does not know the endpoint.
+     */
+    private static boolean isUnsupported(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return cause instanceof APIException apiException
+                && apiException.statusCode >= 400
+                && apiException.statusCode < 500
+                && apiException.statusCode != 429;
+    }
+
+    enum Capability {
+        SEARCH("search"),
+        HIGHEST_SALARY("salary-max"),
+        TOP_BY_SALARY("salary-top");
+
+        private final String key;
+
+        Capability(String key) {
+            this.key = key;
+        }
+    }
+
+    private record Probe(CompletableFuture<Set<String>> capabilities, long expiresAtNanos) {}
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binds the {@code data} field of the employee server's response envelope, along with the {@code nextCursor} and
+ * {@code version} fields of list responses, straight from the response stream, without building an intermediate tree.
+ */
+class ServerResponseDecoder {
+    private static final String DATA_FIELD = "data";
+    private static final String NEXT_CURSOR_FIELD = "nextCursor";
+    private static final String VERSION_FIELD = "version";
+
+    private final ObjectMapper objectMapper;
+    private final ConcurrentHashMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public ServerResponseDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> T decodeData(InputStream body, TypeReference<T> typeReference) throws IOException {
+        return decode(body, typeReference).data();
+    }
+
+    public <T> ServerPage<T> decodePage(InputStream body, TypeReference<List<T>> typeReference) throws IOException {
+        Envelope<List<T>> envelope = decode(body, typeReference);
+        return new ServerPage<>(
+                Objects.requireNonNullElse(envelope.data(), List.of()), envelope.nextCursor(), envelope.version());
+    }
+
+    private <T> Envelope<T> decode(InputStream body, TypeReference<T> typeReference) throws IOException {
+        ObjectReader reader = readers.computeIfAbsent(
+                typeReference.getType(), type -> objectMapper.readerFor(objectMapper.constructType(type)));
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected response envelope");
+            }
+
+            T data = null;
+            String nextCursor = null;
+            Long version = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if (DATA_FIELD.equals(field)) {
+                    data = reader.readValue(parser);
+                } else if (NEXT_CURSOR_FIELD.equals(field)) {
+                    nextCursor = parser.getValueAsString();
+                } else if (VERSION_FIELD.equals(field) && parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+                    version = parser.getLongValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return new Envelope<>(data, nextCursor, version);
+        }
+    }
+
+    private record Envelope<T>(T data, String nextCursor, Long version) {}
+}
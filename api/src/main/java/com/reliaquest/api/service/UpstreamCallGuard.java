@@ -0,0 +1,76 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Isolates calls to the employee server: reads and writes go through separate bulkheads so a slow write path cannot
+ * starve reads, and each operation has its own circuit breaker.
+ */
+@Component
+class UpstreamCallGuard {
+    private final Bulkhead readBulkhead;
+    private final Bulkhead writeBulkhead;
+    private final Map<Operation, CircuitBreaker> circuitBreakers = new EnumMap<>(Operation.class);
+    private final Duration callTimeout;
+
+    public UpstreamCallGuard(
+            MeterRegistry meterRegistry,
+            @Value("${employee.upstream.bulkhead.read.max-concurrent-calls:64}") int maxConcurrentReads,
+            @Value("${employee.upstream.bulkhead.write.max-concurrent-calls:16}") int maxConcurrentWrites,
+            @Value("${employee.upstream.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${employee.upstream.circuit.open-duration:10s}") Duration openDuration,
+            @Value("${employee.upstream.circuit.half-open-probes:1}") int halfOpenProbes,
+            @Value("${employee.upstream.call-timeout:10s}") Duration callTimeout) {
+        this.readBulkhead = new Bulkhead("read", maxConcurrentReads, meterRegistry);
+        this.writeBulkhead = new Bulkhead("write", maxConcurrentWrites, meterRegistry);
+        for (Operation operation : Operation.values()) {
+            circuitBreakers.put(
+                    operation,
+                    new CircuitBreaker(
+                            operation.name().toLowerCase(),
+                            failureThreshold,
+                            openDuration,
+                            halfOpenProbes,
+                            meterRegistry));
+        }
+        this.callTimeout = callTimeout;
+    }
+
+    public <T> CompletableFuture<T> execute(Operation operation, Supplier<CompletableFuture<T>> call) {
+        Bulkhead bulkhead = operation == Operation.GET ? readBulkhead : writeBulkhead;
+        return bulkhead.execute(() -> circuitBreakers.get(operation).execute(() -> withTimeout(call.get())));
+    }
+
+    public CircuitBreaker getCircuitBreaker(Operation operation) {
+        return circuitBreakers.get(operation);
+    }
+
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> call) {
+        return call.orTimeout(callTimeout.toNanos(), TimeUnit.NANOSECONDS).exceptionally(ex -> {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (cause instanceof TimeoutException) {
+                throw new APIException(504, "Employee server did not respond in time");
+            }
+            throw ex instanceof CompletionException completionException
+                    ? completionException
+                    : new CompletionException(ex);
+        });
+    }
+
+    enum Operation {
+        GET,
+        POST,
+        DELETE
+    }
+}
@@ -0,0 +1,168 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.APIException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paces requests to the employee server with a token bucket whose rate adapts to the server's limit: it is halved on
+ * every 429 and grows slowly while requests succeed. A 429 also blocks all requests until its {@code Retry-After}
+ * hint, or an exponentially growing cooldown when the server gives none. Requests that cannot be sent before their
+ * deadline fail fast with a 429 instead of queueing.
+ */
+@Slf4j
+@Component
+class UpstreamRateGovernor {
+    private static final double RATE_DECREASE_FACTOR = 0.5;
+    private static final double RATE_INCREASE_STEP = 0.1;
+    private static final int MAX_COOLDOWN_DOUBLINGS = 6;
+
+    private final double minRate;
+    private final double maxRate;
+    private final Duration defaultRetryAfter;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration requestDeadline;
+
+    private final Lock lock = new ReentrantLock();
+    private volatile double rate;
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private long blockedUntilNanos = lastRefillNanos;
+    private int consecutiveThrottles;
+
+    public UpstreamRateGovernor(
+            @Value("${employee.upstream.rate.initial-permits-per-second:10}") double initialRate,
+            @Value("${employee.upstream.rate.min-permits-per-second:0.2}") double minRate,
+            @Value("${employee.upstream.rate.max-permits-per-second:100}") double maxRate,
+            @Value("${employee.upstream.rate.default-retry-after:1s}") Duration defaultRetryAfter,
+            @Value("${employee.upstream.retry.max-attempts:3}") int maxAttempts,
+            @Value("${employee.upstream.retry.base-backoff:100ms}") Duration baseBackoff,
+            @Value("${employee.upstream.request-deadline:5s}") Duration requestDeadline) {
+        this.rate = initialRate;
+        this.tokens = initialRate;
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.defaultRetryAfter = defaultRetryAfter;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = baseBackoff;
+        this.requestDeadline = requestDeadline;
+    }
+
+    public long newDeadline() {
+        return System.nanoTime() + requestDeadline.toNanos();
+    }
+
+    /**
+     * @return a future completing once a request may be sent, or failing with a 429 {@link APIException} if that
+     * would be after the deadline
+     */
+    public CompletableFuture<Void> acquire(long deadlineNanos) {
+        long waitNanos;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            long startNanos = Math.max(now, blockedUntilNanos);
+            if (tokens < 1) {
+                startNanos = Math.max(startNanos, now + (long) ((1 - tokens) / rate * TimeUnit.SECONDS.toNanos(1)));
+            }
+            if (startNanos > deadlineNanos) {
+                return CompletableFuture.failedFuture(
+                        new APIException(429, "Employee server rate limit exceeded, try again later"));
+            }
+            tokens--;
+            waitNanos = startNanos - now;
+        } finally {
+            lock.unlock();
+        }
+
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        log.debug("Delaying upstream request by {} ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    public void onSuccess() {
+        lock.lock();
+        try {
+            consecutiveThrottles = 0;
+            rate = Math.min(maxRate, rate + RATE_INCREASE_STEP);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onThrottled(Optional<String> retryAfterHeader) {
+        Duration retryAfter =
+                retryAfterHeader.flatMap(UpstreamRateGovernor::parseRetryAfter).orElse(null);
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+            rate = Math.max(minRate, rate * RATE_DECREASE_FACTOR);
+            tokens = Math.min(tokens, 0);
+            if (retryAfter == null) {
+                retryAfter =
+                        defaultRetryAfter.multipliedBy(1L << Math.min(consecutiveThrottles, MAX_COOLDOWN_DOUBLINGS));
+            }
+            consecutiveThrottles++;
+            blockedUntilNanos = Math.max(blockedUntilNanos, now + retryAfter.toNanos());
+            log.warn("Employee server is rate limiting, pausing for {} at {} requests/s", retryAfter, rate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean canRetry(int attempt) {
+        return attempt + 1 < maxAttempts;
+    }
+
+    /**
+     * @return a future completing after a random delay of between half and all of the exponential backoff for the
+     * given attempt
+     */
+    public CompletableFuture<Void> backoff(int attempt) {
+        long backoffNanos = baseBackoff.toNanos() << Math.min(attempt, MAX_COOLDOWN_DOUBLINGS);
+        long jitteredNanos = backoffNanos / 2 + ThreadLocalRandom.current().nextLong(backoffNanos / 2 + 1);
+        return CompletableFuture.runAsync(
+                () -> {}, CompletableFuture.delayedExecutor(jitteredNanos, TimeUnit.NANOSECONDS));
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(Math.max(rate, 1), tokens + (now - lastRefillNanos) * rate / TimeUnit.SECONDS.toNanos(1));
+        lastRefillNanos = now;
+    }
+
+    static Optional<Duration> parseRetryAfter(String value) {
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException e) {
+            try {
+                Instant retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                        .toInstant();
+                Duration retryAfter = Duration.between(Instant.now(), retryAt);
+                return Optional.of(retryAfter.isNegative() ? Duration.ZERO : retryAfter);
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.Locale;
+
+/**
+ * Encodings of employee server responses. The binary ones carry the same envelope and field names as JSON, but are
+ * smaller and cheaper to parse.
+ */
+enum WireFormat {
+    JSON("application/json"),
+    SMILE("application/x-jackson-smile"),
+    CBOR("application/cbor");
+
+    private final String mediaType;
+
+    WireFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return the {@code Accept} header asking for this format, with JSON as the fallback for servers without it
+     */
+    public String acceptHeader() {
+        return this == JSON ? mediaType : mediaType + ", " + JSON.mediaType + ";q=0.5";
+    }
+
+    /**
+     * @return a mapper for this format, configured like {@code jsonMapper}
+     */
+    public ObjectMapper mapper(ObjectMapper jsonMapper) {
+        return switch (this) {
+            case JSON -> jsonMapper;
+            case SMILE -> jsonMapper.copyWith(new SmileFactory());
+            case CBOR -> jsonMapper.copyWith(new CBORFactory());
+        };
+    }
+
+    /**
+     * @return the format of a response with the given {@code Content-Type}, JSON if it is missing or unknown
+     */
+    public static WireFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String normalized = contentType.toLowerCase(Locale.ROOT);
+            for (WireFormat format : values()) {
+                if (normalized.startsWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
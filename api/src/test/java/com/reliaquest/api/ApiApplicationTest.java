@@ -1,13 +1,32 @@
 package com.reliaquest.api;
 
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.controller.AsyncEmployeeController;
+import com.reliaquest.api.controller.CachedResponseInterceptor;
+import com.reliaquest.api.controller.EmployeeController;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
 
 @SpringBootTest
 class ApiApplicationTest {
+    @Autowired
+    ApplicationContext applicationContext;
 
     @Test
     void someTest() {
         // do the thing here
     }
+
+    @Test
+    void itShouldStartWithTheBaselineSettings() {
+        assertEquals("UPSTREAM", applicationContext.getEnvironment().getProperty("employee.cache.mode"));
+        assertEquals("false", applicationContext.getEnvironment().getProperty("spring.threads.virtual.enabled"));
+        assertEquals("JSON", applicationContext.getEnvironment().getProperty("employee.upstream.format"));
+        assertEquals(1, applicationContext.getBeanNamesForType(EmployeeController.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(AsyncEmployeeController.class).length);
+        assertEquals(0, applicationContext.getBeanNamesForType(CachedResponseInterceptor.class).length);
+    }
 }
@@ -0,0 +1,29 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.controller.AsyncEmployeeController;
+import com.reliaquest.api.controller.CachedResponseInterceptor;
+import com.reliaquest.api.controller.EmployeeController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("tuned")
+class ApiApplicationTunedProfileTest {
+    @Autowired
+    ApplicationContext applicationContext;
+
+    @Test
+    void itShouldStartWithTheTunedSettings() {
+        assertEquals("CACHED", applicationContext.getEnvironment().getProperty("employee.cache.mode"));
+        assertEquals("true", applicationContext.getEnvironment().getProperty("spring.threads.virtual.enabled"));
+        assertEquals("SMILE", applicationContext.getEnvironment().getProperty("employee.upstream.format"));
+        assertEquals(0, applicationContext.getBeanNamesForType(EmployeeController.class).length);
+        assertEquals(1, applicationContext.getBeanNamesForType(AsyncEmployeeController.class).length);
+        assertEquals(1, applicationContext.getBeanNamesForType(CachedResponseInterceptor.class).length);
+    }
+}
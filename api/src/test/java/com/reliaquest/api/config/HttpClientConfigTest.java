@@ -0,0 +1,33 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+
+class HttpClientConfigTest {
+
+    @Test
+    void itShouldUseFixedThreadPoolByDefault() {
+        Executor executor = HttpClientConfig.httpClientExecutor(new MockEnvironment());
+
+        ThreadPoolExecutor threadPool = assertInstanceOf(ThreadPoolExecutor.class, executor);
+        assertEquals(10, threadPool.getMaximumPoolSize());
+        threadPool.shutdown();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void itShouldUseVirtualThreadsWhenEnabled() {
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true");
+
+        Executor executor = HttpClientConfig.httpClientExecutor(environment);
+
+        assertInstanceOf(VirtualThreadTaskExecutor.class, executor);
+    }
+}
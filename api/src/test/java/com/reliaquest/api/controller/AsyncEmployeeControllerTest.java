@@ -0,0 +1,152 @@
+package com.reliaquest.api.controller;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.reliaquest.api.controller.request.DeleteEmployeeInput;
+import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(properties = {"employee.cache.mode=UPSTREAM", "employee.execution.mode=ASYNC"})
+@AutoConfigureMockMvc
+class AsyncEmployeeControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @RegisterExtension
+    public static WireMockExtension employeeServerWireMockRule =
+            WireMockExtension.newInstance().options(wireMockConfig().port(8112)).build();
+
+    List<Employee> mockEmployeeList = List.of(
+            new Employee(UUID.randomUUID(), "John Doe", 1000, 22, "Software Engineer", "john@gmail.com"),
+            new Employee(UUID.randomUUID(), "Jake Luther", 2000, 22, "Security Engineer", "jake@gmail.com"),
+            new Employee(UUID.randomUUID(), "Will Jacks", 500, 22, "Software Engineer", "will@gmail.com"));
+
+    EmployeeServerMocks employeeServerMocks = new EmployeeServerMocks(employeeServerWireMockRule);
+
+    @Test
+    void shouldReturnAllEmployeesAsynchronously() throws Exception {
+        employeeServerMocks.mockGetApiCall(
+                "/api/v1/employee", 200, getEnclosedResponse(objectMapper.writeValueAsString(mockEmployeeList)));
+
+        MvcResult result =
+                mockMvc.perform(get("/")).andExpect(request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$.[0].name").value("John Doe"));
+    }
+
+    @Test
+    void shouldReturnTopEarningEmployeeNamesAsynchronously() throws Exception {
+        employeeServerMocks.mockGetApiCall(
+                "/api/v1/employee", 200, getEnclosedResponse(objectMapper.writeValueAsString(mockEmployeeList)));
+
+        MvcResult result = mockMvc.perform(get("/topTenHighestEarningEmployeeNames"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0]").value("Jake Luther"))
+                .andExpect(jsonPath("$.[2]").value("Will Jacks"));
+    }
+
+    @Test
+    void shouldReturnUpstreamErrorStatusAsynchronously() throws Exception {
+        Employee mockEmployee = mockEmployeeList.get(0);
+        employeeServerMocks.mockGetApiCall(
+                "/api/v1/employee/" + mockEmployee.getId(), 404, "Employee not found with ID " + mockEmployee.getId());
+
+        MvcResult result = mockMvc.perform(get("/" + mockEmployee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$").value("Employee not found with ID " + mockEmployee.getId()));
+    }
+
+    @Test
+    void shouldCreateEmployeeAsynchronously() throws Exception {
+        EmployeeCreationInput employeeCreationInput =
+                new EmployeeCreationInput("John Clair", 1000, 30, "CTO", "john@rq.com");
+        Employee createdEmployee = new Employee(
+                UUID.fromString("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"), "John Clair", 1000, 30, "CTO", "john@rq.com");
+        employeeServerMocks.mockPostApiCall(
+                "/api/v1/employee",
+                200,
+                objectMapper.writeValueAsString(employeeCreationInput),
+                getEnclosedResponse(objectMapper.writeValueAsString(createdEmployee)));
+
+        MvcResult result = mockMvc.perform(post("/")
+                        .content(objectMapper.writeValueAsString(employeeCreationInput))
+                        .contentType("application/json"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507"));
+    }
+
+    @Test
+    void shouldDeleteEmployeeAsynchronously() throws Exception {
+        Employee mockEmployee = mockEmployeeList.get(0);
+        employeeServerMocks.mockGetApiCall(
+                "/api/v1/employee/" + mockEmployee.getId(),
+                200,
+                getEnclosedResponse(objectMapper.writeValueAsString(mockEmployee)));
+        String deleteEmployeeInput = objectMapper.writeValueAsString(DeleteEmployeeInput.byId(mockEmployee.getId()));
+        employeeServerMocks.mockDeleteApiCall(
+                "/api/v1/employee", 200, deleteEmployeeInput, getEnclosedResponse("true"));
+
+        MvcResult result = mockMvc.perform(delete("/" + mockEmployee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(mockEmployee.getName()));
+    }
+
+    @Test
+    void itShouldReturnBadRequestIfEmployeeNotFoundWhileDeletingAsynchronously() throws Exception {
+        Employee mockEmployee = mockEmployeeList.get(0);
+        employeeServerMocks.mockGetApiCall(
+                "/api/v1/employee/" + mockEmployee.getId(), 200, getEnclosedResponse("null"));
+
+        MvcResult result = mockMvc.perform(delete("/" + mockEmployee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$").value("Employee not found with ID " + mockEmployee.getId()));
+    }
+
+    String getEnclosedResponse(String response) {
+        return """
+      {
+        "data" : %s
+      }
+      """.formatted(response);
+    }
+}
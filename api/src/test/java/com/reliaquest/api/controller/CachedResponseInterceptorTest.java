@@ -0,0 +1,209 @@
+package com.reliaquest.api.controller;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EncodedResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(
+        properties = {
+            "employee.cache.mode=CACHED",
+            "employee.cache.ttl=1h",
+            "employee.cache.delta-sync=false",
+            "employee.execution.mode=SYNC",
+            "employee.response-cache.enabled=true",
+            "employee.response-cache.max-age=10s"
+        })
+@AutoConfigureMockMvc
+class CachedResponseInterceptorTest {
+    private static final List<Employee> mockEmployeeList = IntStream.range(0, 50)
+            .mapToObj(i -> new Employee(
+                    UUID.randomUUID(), "Employee " + i, 1000 * (i + 1), 30, "Software Engineer", i + "@company.com"))
+            .toList();
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @RegisterExtension
+    public static WireMockExtension employeeServerWireMockRule =
+            WireMockExtension.newInstance().options(wireMockConfig().port(8112)).build();
+
+    EmployeeServerMocks employeeServerMocks = new EmployeeServerMocks(employeeServerWireMockRule);
+
+    @Test
+    void shouldServeCachedEmployeesWithETagAndAnswerIfNoneMatch() throws Exception {
+        loadSnapshot();
+
+        MvcResult result = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=10, must-revalidate"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        assertEquals(
+                objectMapper.writeValueAsString(mockEmployeeList),
+                result.getResponse().getContentAsString());
+
+        mockMvc.perform(get("/").header("If-None-Match", result.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldServeGzipWhenAccepted() throws Exception {
+        loadSnapshot();
+
+        MvcResult identity = mockMvc.perform(get("/")).andReturn();
+        MvcResult gzipped = mockMvc.perform(get("/").header("Accept-Encoding", "deflate, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn();
+
+        byte[] decompressed = new GZIPInputStream(
+                        new ByteArrayInputStream(gzipped.getResponse().getContentAsByteArray()))
+                .readAllBytes();
+        assertArrayEquals(identity.getResponse().getContentAsByteArray(), decompressed);
+        assertNotEquals(
+                identity.getResponse().getHeader("ETag"), gzipped.getResponse().getHeader("ETag"));
+        mockMvc.perform(get("/").header("If-None-Match", gzipped.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void shouldServeCachedHighestSalaryAndTopTenNames() throws Exception {
+        loadSnapshot();
+
+        mockMvc.perform(get("/highestSalary"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(content().string("50000"));
+        mockMvc.perform(get("/topTenHighestEarningEmployeeNames"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.[0]").value("Employee 49"))
+                .andExpect(jsonPath("$.[9]").value("Employee 40"));
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldEncodeOnceWithoutHoldingConcurrentRequestsAfterAChange() throws Exception {
+        loadSnapshot();
+        mockMvc.perform(get("/topTenHighestEarningEmployeeNames")).andExpect(status().isOk());
+        createEmployee();
+        double encodingsBefore = encodings(EncodedResponseCache.Endpoint.TOP_TEN_NAMES);
+
+        int requests = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<MvcResult>> results = IntStream.range(0, requests)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return mockMvc.perform(get("/topTenHighestEarningEmployeeNames"))
+                                .andReturn();
+                    }))
+                    .toList();
+            start.countDown();
+            String expected = mockMvc.perform(get("/topTenHighestEarningEmployeeNames"))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            /* Requests arriving during the encoding are answered by the controller, with the same names. */
+            for (Future<MvcResult> result : results) {
+                assertEquals(200, result.get().getResponse().getStatus());
+                assertEquals(expected, result.get().getResponse().getContentAsString());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, encodings(EncodedResponseCache.Endpoint.TOP_TEN_NAMES) - encodingsBefore);
+    }
+
+    @Test
+    void shouldPassRequestsNotAcceptingJsonToController() throws Exception {
+        loadSnapshot();
+
+        mockMvc.perform(get("/highestSalary").header("Accept", "application/xml"))
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void testAcceptsJson() {
+        assertTrue(CachedResponseInterceptor.acceptsJson(null));
+        assertTrue(CachedResponseInterceptor.acceptsJson("*/*"));
+        assertTrue(CachedResponseInterceptor.acceptsJson("application/xml, application/*;q=0.5"));
+        assertTrue(CachedResponseInterceptor.acceptsJson("application/json"));
+        assertFalse(CachedResponseInterceptor.acceptsJson("application/json;q=0, application/xml"));
+        assertFalse(CachedResponseInterceptor.acceptsJson("application/x-jackson-smile"));
+        assertFalse(CachedResponseInterceptor.acceptsJson("not a media type"));
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(CachedResponseInterceptor.acceptsGzip("gzip"));
+        assertTrue(CachedResponseInterceptor.acceptsGzip("br, GZIP;q=0.5"));
+        assertFalse(CachedResponseInterceptor.acceptsGzip("gzip;q=0"));
+        assertFalse(CachedResponseInterceptor.acceptsGzip("deflate"));
+        assertFalse(CachedResponseInterceptor.acceptsGzip(null));
+    }
+
+    private void createEmployee() throws Exception {
+        EmployeeCreationInput input = new EmployeeCreationInput("New Employee", 100, 30, "Intern", null);
+        Employee created = new Employee(UUID.randomUUID(), "New Employee", 100, 30, "Intern", "new@company.com");
+        employeeServerMocks.mockPostApiCall(
+                "/api/v1/employee",
+                200,
+                objectMapper.writeValueAsString(input),
+                "{\"data\":" + objectMapper.writeValueAsString(created) + "}");
+        mockMvc.perform(post("/")
+                        .content(objectMapper.writeValueAsString(input))
+                        .contentType("application/json"))
+                .andExpect(status().isCreated());
+    }
+
+    private double encodings(EncodedResponseCache.Endpoint endpoint) {
+        return meterRegistry
+                .counter("employee.response-cache.encodings", "endpoint", endpoint.name())
+                .count();
+    }
+
+    /*
+     * Until a snapshot is held requests go on to the controller, which loads it.
+     */
+    private void loadSnapshot() throws Exception {
+        employeeServerMocks.mockGetApiCall(
+                "/api/v1/employee", 200, "{\"data\":" + objectMapper.writeValueAsString(mockEmployeeList) + "}");
+        mockMvc.perform(get("/")).andExpect(status().isOk());
+    }
+}
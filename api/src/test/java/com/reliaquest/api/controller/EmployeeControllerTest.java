@@ -19,7 +19,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 
-@SpringBootTest
+@SpringBootTest(properties = {"employee.cache.mode=UPSTREAM", "employee.execution.mode=SYNC"})
 @AutoConfigureMockMvc
 class EmployeeControllerTest {
     @Autowired
@@ -165,7 +165,7 @@ class EmployeeControllerTest {
       }
       """;
 
-        String deleteEmployeeInput = objectMapper.writeValueAsString(new DeleteEmployeeInput(mockEmployee.getName()));
+        String deleteEmployeeInput = objectMapper.writeValueAsString(DeleteEmployeeInput.byId(mockEmployee.getId()));
         employeeServerMocks.mockDeleteApiCall("/api/v1/employee", 200, deleteEmployeeInput, deleteReponse);
 
         mockMvc.perform(delete("/" + mockEmployee.getId()))
@@ -0,0 +1,94 @@
+package com.reliaquest.api.controller;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "employee.cache.mode=UPSTREAM")
+@AutoConfigureMockMvc
+class EmployeeSalaryControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @RegisterExtension
+    public static WireMockExtension employeeServerWireMockRule =
+            WireMockExtension.newInstance().options(wireMockConfig().port(8112)).build();
+
+    List<Employee> mockEmployeeList = List.of(
+            new Employee(UUID.randomUUID(), "John Doe", 1000, 22, "Software Engineer", "john@gmail.com"),
+            new Employee(UUID.randomUUID(), "Jake Luther", 2000, 22, "Security Engineer", "jake@gmail.com"),
+            new Employee(UUID.randomUUID(), "Will Jacks", 500, 22, "Software Engineer", "will@gmail.com"));
+
+    EmployeeServerMocks employeeServerMocks = new EmployeeServerMocks(employeeServerWireMockRule);
+
+    @BeforeEach
+    void setup() throws Exception {
+        employeeServerMocks.mockGetApiCall(
+                "/api/v1/employee",
+                200,
+                """
+      {
+        "data" : %s
+      }
+      """
+                        .formatted(objectMapper.writeValueAsString(mockEmployeeList)));
+    }
+
+    @Test
+    void itShouldCountEmployeesInSalaryRange() throws Exception {
+        mockMvc.perform(get("/salaries/range/count?min=500&max=1000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(2));
+    }
+
+    @Test
+    void itShouldReturnEmployeesInSalaryRangeHighestFirst() throws Exception {
+        mockMvc.perform(get("/salaries/range?min=600&max=5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$.[0].name").value("Jake Luther"))
+                .andExpect(jsonPath("$.[1].name").value("John Doe"));
+    }
+
+    @Test
+    void itShouldReturnSalaryRankOfEmployee() throws Exception {
+        mockMvc.perform(get("/salaries/rank/" + mockEmployeeList.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(2));
+    }
+
+    @Test
+    void itShouldReturnNotFoundForRankOfUnknownEmployee() throws Exception {
+        mockMvc.perform(get("/salaries/rank/" + UUID.randomUUID())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void itShouldReturnSalaryPercentiles() throws Exception {
+        mockMvc.perform(get("/salaries/percentiles?p=50,99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.p50").value(1000))
+                .andExpect(jsonPath("$.p99").value(2000));
+    }
+
+    @Test
+    void itShouldRejectPercentilesOutOfRange() throws Exception {
+        mockMvc.perform(get("/salaries/percentiles?p=0")).andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Bulkhead bulkhead = new Bulkhead("read", 1, meterRegistry);
+
+    @Test
+    void itShouldRejectCallsBeyondTheLimit() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = bulkhead.execute(() -> pending);
+
+        CompletableFuture<String> rejected = bulkhead.execute(() -> CompletableFuture.completedFuture("ok"));
+
+        assertEquals(
+                503,
+                ((APIException) assertThrows(CompletionException.class, rejected::join)
+                                .getCause())
+                        .statusCode);
+        assertEquals(1, bulkhead.getActiveCalls());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.bulkhead.rejections")
+                        .counter()
+                        .count());
+
+        pending.complete("ok");
+        assertEquals("ok", first.join());
+        assertEquals(0, bulkhead.getActiveCalls());
+        assertEquals(
+                "ok",
+                bulkhead.execute(() -> CompletableFuture.completedFuture("ok")).join());
+    }
+
+    @Test
+    void itShouldReleasePermitWhenCallFails() {
+        CompletableFuture<Object> failed = bulkhead.execute(() -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(0, bulkhead.getActiveCalls());
+    }
+}
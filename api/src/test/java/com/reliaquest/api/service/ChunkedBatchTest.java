@@ -0,0 +1,105 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ChunkedBatchTest {
+
+    @Test
+    void itShouldSendItemsInChunksAndKeepTheirOrder() {
+        List<List<Integer>> sent = new ArrayList<>();
+
+        List<String> results = ChunkedBatch.send(
+                        IntStream.range(0, 7).boxed().toList(),
+                        3,
+                        2,
+                        chunk -> {
+                            sent.add(chunk);
+                            return CompletableFuture.completedFuture(
+                                    chunk.stream().map(i -> "r" + i).toList());
+                        },
+                        ex -> "failed")
+                .join();
+
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6)), sent);
+        assertEquals(List.of("r0", "r1", "r2", "r3", "r4", "r5", "r6"), results);
+    }
+
+    @Test
+    void itShouldKeepAtMostMaxInFlightChunksPending() {
+        List<CompletableFuture<List<Integer>>> pending = new ArrayList<>();
+
+        CompletableFuture<List<Integer>> results = ChunkedBatch.send(
+                IntStream.range(0, 8).boxed().toList(),
+                2,
+                2,
+                chunk -> {
+                    CompletableFuture<List<Integer>> response = new CompletableFuture<>();
+                    pending.add(response);
+                    return response;
+                },
+                ex -> -1);
+
+        assertEquals(2, pending.size());
+        pending.get(1).complete(List.of(2, 3));
+        assertEquals(3, pending.size());
+        pending.get(0).complete(List.of(0, 1));
+        assertEquals(4, pending.size());
+        pending.get(3).complete(List.of(6, 7));
+        pending.get(2).complete(List.of(4, 5));
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), results.join());
+    }
+
+    @Test
+    void itShouldReportFailureForItemsOfFailedChunkOnly() {
+        List<String> results = ChunkedBatch.send(
+                        List.of(1, 2, 3, 4),
+                        2,
+                        1,
+                        chunk -> chunk.contains(1)
+                                ? CompletableFuture.failedFuture(new IllegalStateException("boom"))
+                                : CompletableFuture.completedFuture(
+                                        chunk.stream().map(String::valueOf).toList()),
+                        ex -> ex.getMessage())
+                .join();
+
+        assertEquals(List.of("boom", "boom", "3", "4"), results);
+    }
+
+    @Test
+    void itShouldCompleteEmptyBatchWithoutSending() {
+        List<String> results = ChunkedBatch.<Integer, String>send(
+                        List.of(),
+                        10,
+                        4,
+                        chunk -> {
+                            throw new AssertionError("Nothing to send");
+                        },
+                        ex -> "failed")
+                .join();
+
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void itShouldNotDeepenTheStackForChunksThatFailBeforeSending() {
+        List<String> results = ChunkedBatch.<Integer, String>send(
+                        IntStream.range(0, 100_000).boxed().toList(),
+                        1,
+                        1,
+                        chunk -> {
+                            throw new IllegalStateException("boom");
+                        },
+                        ex -> ex.getMessage())
+                .join();
+
+        assertEquals(100_000, results.size());
+        assertTrue(results.stream().allMatch("boom"::equals));
+    }
+}
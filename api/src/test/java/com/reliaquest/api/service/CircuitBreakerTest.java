@@ -0,0 +1,105 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.APIException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void itShouldOpenAfterConsecutiveFailuresAndRejectCalls() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", 2, Duration.ofMinutes(1), 1, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        fail(circuitBreaker, calls);
+        fail(circuitBreaker, calls);
+        CompletableFuture<String> rejected = circuitBreaker.execute(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("ok");
+        });
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(
+                503,
+                ((APIException) assertThrows(CompletionException.class, rejected::join)
+                                .getCause())
+                        .statusCode);
+        assertEquals(2, calls.get());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.circuit.rejections")
+                        .counter()
+                        .count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.circuit.transitions")
+                        .tag("to", "OPEN")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void itShouldNotCountClientErrorsAsFailures() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", 1, Duration.ofMinutes(1), 1, meterRegistry);
+
+        CompletableFuture<Object> notFound =
+                circuitBreaker.execute(() -> CompletableFuture.failedFuture(new APIException(404, "Not Found")));
+
+        assertThrows(CompletionException.class, notFound::join);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void itShouldCloseAfterSuccessfulProbe() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", 1, Duration.ZERO, 1, meterRegistry);
+        fail(circuitBreaker, new AtomicInteger());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        CompletableFuture<String> probe = new CompletableFuture<>();
+        CompletableFuture<String> result = circuitBreaker.execute(() -> probe);
+        CompletableFuture<String> concurrent = circuitBreaker.execute(() -> CompletableFuture.completedFuture("ok"));
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertThrows(CompletionException.class, concurrent::join);
+
+        probe.complete("ok");
+        assertEquals("ok", result.join());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void itShouldReopenAfterFailedProbe() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("get", 1, Duration.ZERO, 1, meterRegistry);
+        fail(circuitBreaker, new AtomicInteger());
+
+        fail(circuitBreaker, new AtomicInteger());
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.circuit.transitions")
+                        .tag("from", "HALF_OPEN")
+                        .tag("to", "OPEN")
+                        .counter()
+                        .count());
+    }
+
+    private static void fail(CircuitBreaker circuitBreaker, AtomicInteger calls) {
+        CompletableFuture<Object> result = circuitBreaker.execute(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new IOException("Connection refused"));
+        });
+        assertThrows(CompletionException.class, result::join);
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.controller.request.DeleteEmployeeInput;
+import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.exception.APIException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeBatchResult;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class EmployeeBatchServiceTest {
+    private static final String BATCH_PATH = "/api/v1/employee/batch";
+
+    private final EmployeeServerAPIClient employeeServerApiClient = mock(EmployeeServerAPIClient.class);
+    private final EmployeeSnapshotCache employeeSnapshotCache = mock(EmployeeSnapshotCache.class);
+    private final EmployeeBatchService employeeBatchService =
+            new EmployeeBatchService(employeeServerApiClient, employeeSnapshotCache, 2, 4);
+
+    @Test
+    void itShouldCreateEmployeesInChunksAndUpdateCache() {
+        List<EmployeeCreationInput> inputs = List.of(
+                new EmployeeCreationInput("John", 1000, 25, "Engineer", null),
+                new EmployeeCreationInput("Jane", 2000, 30, "Manager", null),
+                new EmployeeCreationInput("", 3000, 35, "Director", null));
+        Employee john = new Employee(UUID.randomUUID(), "John", 1000, 25, "Engineer", "john@company.com");
+        Employee jane = new Employee(UUID.randomUUID(), "Jane", 2000, 30, "Manager", "jane@company.com");
+        when(employeeServerApiClient.post(eq(BATCH_PATH), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(
+                        new EmployeeBatchResult(EmployeeBatchResult.Outcome.CREATED, john, null),
+                        new EmployeeBatchResult(EmployeeBatchResult.Outcome.CREATED, jane, null))))
+                .thenReturn(CompletableFuture.completedFuture(List.of(
+                        new EmployeeBatchResult(EmployeeBatchResult.Outcome.INVALID, null, "name must not be blank"))));
+
+        List<EmployeeBatchResult> results =
+                employeeBatchService.createEmployeesAsync(inputs).join();
+
+        assertEquals(
+                List.of(
+                        EmployeeBatchResult.Outcome.CREATED,
+                        EmployeeBatchResult.Outcome.CREATED,
+                        EmployeeBatchResult.Outcome.INVALID),
+                results.stream().map(EmployeeBatchResult::outcome).toList());
+        verify(employeeServerApiClient, times(2)).post(eq(BATCH_PATH), any(), any());
+        verify(employeeSnapshotCache).onEmployeeCreated(john);
+        verify(employeeSnapshotCache).onEmployeeCreated(jane);
+    }
+
+    @Test
+    void itShouldDeleteEmployeesByIdAndReportFailedChunks() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        Employee deleted = new Employee(first, "John", 1000, 25, "Engineer", "john@company.com");
+        when(employeeServerApiClient.delete(eq(BATCH_PATH), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(
+                        new EmployeeBatchResult(EmployeeBatchResult.Outcome.DELETED, deleted, null),
+                        new EmployeeBatchResult(EmployeeBatchResult.Outcome.NOT_FOUND, null, null))))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(429, "Too many requests")));
+
+        List<EmployeeBatchResult> results = employeeBatchService
+                .deleteEmployeesAsync(List.of(first, second, third))
+                .join();
+
+        assertEquals(
+                List.of(
+                        EmployeeBatchResult.Outcome.DELETED,
+                        EmployeeBatchResult.Outcome.NOT_FOUND,
+                        EmployeeBatchResult.Outcome.FAILED),
+                results.stream().map(EmployeeBatchResult::outcome).toList());
+        assertEquals("Too many requests", results.get(2).error());
+        ArgumentCaptor<Object> bodies = ArgumentCaptor.forClass(Object.class);
+        verify(employeeServerApiClient, times(2)).delete(eq(BATCH_PATH), bodies.capture(), any());
+        assertEquals(
+                List.of(DeleteEmployeeInput.byId(first), DeleteEmployeeInput.byId(second)),
+                bodies.getAllValues().get(0));
+        verify(employeeSnapshotCache).onEmployeeDeleted(deleted);
+        verify(employeeSnapshotCache, never()).onEmployeeCreated(any());
+    }
+
+    @Test
+    void itShouldRejectChunkSizesTheServerDoesNotAccept() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new EmployeeBatchService(employeeServerApiClient, employeeSnapshotCache, 0, 4));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new EmployeeBatchService(
+                        employeeServerApiClient, employeeSnapshotCache, EmployeeBatchService.MAX_CHUNK_SIZE + 1, 4));
+        assertDoesNotThrow(() -> new EmployeeBatchService(
+                employeeServerApiClient, employeeSnapshotCache, EmployeeBatchService.MAX_CHUNK_SIZE, 4));
+    }
+
+    @Test
+    void itShouldRejectBatchesLargerThanTheLimit() {
+        List<UUID> ids = IntStream.rangeClosed(0, EmployeeBatchService.MAX_BATCH_SIZE)
+                .mapToObj(i -> UUID.randomUUID())
+                .toList();
+
+        APIException exception = assertThrows(APIException.class, () -> employeeBatchService.deleteEmployeesAsync(ids));
+
+        assertEquals(400, exception.statusCode);
+        verifyNoInteractions(employeeServerApiClient);
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class EmployeeSalaryServiceTest {
+    private final EmployeeServerAPIClient employeeServerApiClient = Mockito.mock(EmployeeServerAPIClient.class);
+
+    @Test
+    void itShouldAnswerUpstreamQueriesLikeTheIndex() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            employees.add(new Employee(
+                    UUID.randomUUID(), "Employee " + i, 100 * random.nextInt(50), 30, "Engineer", i + "@gmail.com"));
+        }
+        when(employeeServerApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(employees));
+        EmployeeSalaryService upstream = service(EmployeeSnapshotCache.ConsistencyMode.UPSTREAM);
+        EmployeeSalaryService cached = service(EmployeeSnapshotCache.ConsistencyMode.CACHED);
+        cached.countEmployeesInSalaryRange(0, 0);
+
+        for (int i = 0; i < 50; i++) {
+            int min = 100 * random.nextInt(50);
+            int max = min + 100 * random.nextInt(20);
+            assertEquals(cached.countEmployeesInSalaryRange(min, max), upstream.countEmployeesInSalaryRange(min, max));
+            assertEquals(
+                    cached.getEmployeesInSalaryRange(min, max, i, 25),
+                    upstream.getEmployeesInSalaryRange(min, max, i, 25));
+            String id = employees.get(random.nextInt(employees.size())).getId().toString();
+            assertEquals(cached.getSalaryRank(id), upstream.getSalaryRank(id));
+        }
+        List<Double> percentiles = List.of(0.1, 25.0, 50.0, 90.0, 99.9, 100.0);
+        assertEquals(cached.getSalaryPercentiles(percentiles), upstream.getSalaryPercentiles(percentiles));
+    }
+
+    @Test
+    void itShouldAnswerCachedQueriesFromTheIndexWhileRefreshing() {
+        when(employeeServerApiClient.get(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(
+                        new Employee(UUID.randomUUID(), "John Doe", 1000, 22, "Software Engineer", "john@gmail.com"))))
+                .thenReturn(new CompletableFuture<>());
+        EmployeeSalaryService cached = service(EmployeeSnapshotCache.ConsistencyMode.CACHED, Duration.ZERO);
+
+        assertEquals(1, cached.countEmployeesInSalaryRange(0, 5000));
+        assertEquals(1, cached.countEmployeesInSalaryRange(0, 5000));
+        assertEquals(1, cached.countEmployeesInSalaryRange(0, 5000));
+        verify(employeeServerApiClient, times(2)).get(any(), any());
+    }
+
+    private EmployeeSalaryService service(EmployeeSnapshotCache.ConsistencyMode mode) {
+        return service(mode, Duration.ofMinutes(1));
+    }
+
+    private EmployeeSalaryService service(EmployeeSnapshotCache.ConsistencyMode mode, Duration ttl) {
+        SalaryIndex salaryIndex = new SalaryIndex();
+        return new EmployeeSalaryService(
+                new EmployeeSnapshotCache(employeeServerApiClient, List.of(salaryIndex), mode, ttl, 0, false),
+                salaryIndex);
+    }
+}
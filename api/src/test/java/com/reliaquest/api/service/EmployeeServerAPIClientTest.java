@@ -8,33 +8,65 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.controller.request.DeleteEmployeeInput;
 import com.reliaquest.api.controller.request.EmployeeCreationInput;
+import com.reliaquest.api.exception.APIException;
 import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class EmployeeServerAPIClientTest {
     private HttpClient httpClient;
     private ObjectMapper objectMapper;
+    private UpstreamRateGovernor rateGovernor;
+    private SimpleMeterRegistry meterRegistry;
     private EmployeeServerAPIClient apiClient;
 
     @BeforeEach
     void setup() {
         httpClient = mock(HttpClient.class);
+        meterRegistry = new SimpleMeterRegistry();
         objectMapper = new ObjectMapper();
-        apiClient = new EmployeeServerAPIClient(httpClient, "http://localhost:8080", objectMapper);
+        rateGovernor = new UpstreamRateGovernor(
+                100, 0.2, 100, Duration.ofMillis(10), 3, Duration.ofMillis(1), Duration.ofSeconds(5));
+        UpstreamCallGuard callGuard = new UpstreamCallGuard(
+                new SimpleMeterRegistry(), 8, 2, 2, Duration.ofMinutes(1), 1, Duration.ofSeconds(5));
+        apiClient = new EmployeeServerAPIClient(
+                httpClient,
+                "http://localhost:8080",
+                objectMapper,
+                rateGovernor,
+                callGuard,
+                0,
+                WireFormat.JSON,
+                false,
+                meterRegistry);
     }
 
     @Test
     void testGet_successfulResponse() {
         String jsonResponse = "{\"data\":{\"id\":\"596205c5-e4dc-4b0e-89dc-b2ec6dc758ea\",\"name\":\"John Doe\"}}";
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
         when(httpResponse.statusCode()).thenReturn(200);
-        when(httpResponse.body()).thenReturn(jsonResponse);
+        when(httpResponse.body()).thenReturn(stream(jsonResponse));
 
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
@@ -48,12 +80,140 @@ class EmployeeServerAPIClientTest {
         assertEquals("John Doe", employee.getName());
     }
 
+    @Test
+    void testGet_concurrentCallersShareOneUpstreamRequest() {
+        String jsonResponse = "{\"data\":[{\"id\":\"596205c5-e4dc-4b0e-89dc-b2ec6dc758ea\",\"name\":\"John Doe\"}]}";
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(stream(jsonResponse));
+        CompletableFuture<HttpResponse<InputStream>> pendingResponse = new CompletableFuture<>();
+
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(pendingResponse);
+
+        CompletableFuture<List<Employee>> first = apiClient.get("/employees", new TypeReference<>() {});
+        CompletableFuture<List<Employee>> second = apiClient.get("/employees", new TypeReference<>() {});
+        pendingResponse.complete(httpResponse);
+
+        assertEquals(1, first.join().size());
+        assertEquals(1, second.join().size());
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertEquals(2.0, apiClient.getRequestCoalescer().getFanInRatio());
+    }
+
+    @Test
+    void testGet_retriesWhenRateLimited() {
+        HttpResponse<InputStream> rateLimitedResponse = mock(HttpResponse.class);
+        when(rateLimitedResponse.headers()).thenReturn(noHeaders());
+        when(rateLimitedResponse.statusCode()).thenReturn(429);
+        when(rateLimitedResponse.body()).thenReturn(stream(""));
+        when(rateLimitedResponse.headers())
+                .thenReturn(HttpHeaders.of(Map.of("Retry-After", List.of("0")), (name, value) -> true));
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(stream("{\"data\":{\"name\":\"John Doe\"}}"));
+
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(rateLimitedResponse))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        Employee employee = apiClient
+                .<Employee>get("/employees/1", new TypeReference<>() {})
+                .join();
+
+        assertEquals("John Doe", employee.getName());
+        verify(httpClient, times(2)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        assertEquals(50, rateGovernor.getRate(), 1);
+    }
+
+    @Test
+    void testGet_failsWithTooManyRequestsWhenRetriesAreExhausted() {
+        HttpResponse<InputStream> rateLimitedResponse = mock(HttpResponse.class);
+        when(rateLimitedResponse.headers()).thenReturn(noHeaders());
+        when(rateLimitedResponse.statusCode()).thenReturn(429);
+        when(rateLimitedResponse.body()).thenAnswer(invocation -> stream(""));
+        when(rateLimitedResponse.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(rateLimitedResponse));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> apiClient
+                .get("/employees/1", new TypeReference<Employee>() {})
+                .join());
+
+        assertEquals(429, ((APIException) exception.getCause()).statusCode);
+        verify(httpClient, times(3)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void testPost_doesNotRetryWhenRateLimited() {
+        HttpResponse<InputStream> rateLimitedResponse = mock(HttpResponse.class);
+        when(rateLimitedResponse.headers()).thenReturn(noHeaders());
+        when(rateLimitedResponse.statusCode()).thenReturn(429);
+        when(rateLimitedResponse.body()).thenReturn(stream(""));
+        when(rateLimitedResponse.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(rateLimitedResponse));
+
+        CompletableFuture<Employee> result = apiClient.post(
+                "/employees",
+                new EmployeeCreationInput("John Doe", 1000, 20, "Engineer", "email"),
+                new TypeReference<Employee>() {});
+
+        assertThrows(CompletionException.class, result::join);
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void testDeleteById_retriesWhenRateLimited() {
+        HttpResponse<InputStream> rateLimitedResponse = mock(HttpResponse.class);
+        when(rateLimitedResponse.statusCode()).thenReturn(429);
+        when(rateLimitedResponse.body()).thenReturn(stream(""));
+        when(rateLimitedResponse.headers())
+                .thenReturn(HttpHeaders.of(Map.of("Retry-After", List.of("0")), (name, value) -> true));
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(stream("{\"data\":true}"));
+
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(rateLimitedResponse))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        CompletableFuture<Boolean> result = apiClient.delete(
+                "/employee/batch",
+                List.of(DeleteEmployeeInput.byId(UUID.randomUUID()), DeleteEmployeeInput.byId(UUID.randomUUID())));
+
+        assertTrue(result.join());
+        verify(httpClient, times(2)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void testDeleteByName_doesNotRetryWhenRateLimited() {
+        HttpResponse<InputStream> rateLimitedResponse = mock(HttpResponse.class);
+        when(rateLimitedResponse.statusCode()).thenReturn(429);
+        when(rateLimitedResponse.body()).thenReturn(stream(""));
+        when(rateLimitedResponse.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(rateLimitedResponse));
+
+        CompletableFuture<Boolean> result = apiClient.delete("/employee", new DeleteEmployeeInput("John Doe"));
+
+        assertThrows(CompletionException.class, result::join);
+        verify(httpClient, times(1)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
     @Test
     void testPost_successfulResponse() {
         String jsonResponse = "{\"data\":{\"id\":\"596205c5-e4dc-4b0e-89dc-b2ec6dc758ea\",\"name\":\"John Doe\"}}";
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
         when(httpResponse.statusCode()).thenReturn(200);
-        when(httpResponse.body()).thenReturn(jsonResponse);
+        when(httpResponse.body()).thenReturn(stream(jsonResponse));
 
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
@@ -72,9 +232,10 @@ class EmployeeServerAPIClientTest {
     @Test
     void testDelete_successfulResponse() {
         String jsonResponse = "{\"data\":true}";
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
         when(httpResponse.statusCode()).thenReturn(200);
-        when(httpResponse.body()).thenReturn(jsonResponse);
+        when(httpResponse.body()).thenReturn(stream(jsonResponse));
 
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
@@ -87,9 +248,10 @@ class EmployeeServerAPIClientTest {
 
     @Test
     void testGet_unsuccessfulResponse() {
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
         when(httpResponse.statusCode()).thenReturn(404);
-        when(httpResponse.body()).thenReturn("Employee not found");
+        when(httpResponse.body()).thenReturn(stream("Employee not found"));
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
 
@@ -101,9 +263,10 @@ class EmployeeServerAPIClientTest {
 
     @Test
     void testPost_unsuccessfulResponse() {
-        HttpResponse<String> httpResponse = mock(HttpResponse.class);
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
         when(httpResponse.statusCode()).thenReturn(400);
-        when(httpResponse.body()).thenReturn("Invalid input");
+        when(httpResponse.body()).thenReturn(stream("Invalid input"));
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
 
@@ -121,8 +284,9 @@ class EmployeeServerAPIClientTest {
     @Test
     void testDelete_unsuccessfulResponse() {
         HttpResponse httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
         when(httpResponse.statusCode()).thenReturn(400);
-        when(httpResponse.body()).thenReturn("Invalid input");
+        when(httpResponse.body()).thenReturn(stream("Invalid input"));
         when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn(CompletableFuture.completedFuture(httpResponse));
 
@@ -130,4 +294,323 @@ class EmployeeServerAPIClientTest {
 
         assertThrows(CompletionException.class, result::join);
     }
+
+    @Test
+    void testGet_openCircuitRejectsWithoutCallingServer() {
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
+        when(httpResponse.statusCode()).thenReturn(500);
+        when(httpResponse.body()).thenAnswer(invocation -> stream("Internal Server Error"));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<Employee> failed = apiClient.get("/employees/" + i, new TypeReference<>() {});
+            assertEquals(
+                    500,
+                    ((APIException) assertThrows(CompletionException.class, failed::join)
+                                    .getCause())
+                            .statusCode);
+        }
+        CompletableFuture<Employee> rejected = apiClient.get("/employees/2", new TypeReference<>() {});
+
+        assertEquals(
+                503,
+                ((APIException) assertThrows(CompletionException.class, rejected::join)
+                                .getCause())
+                        .statusCode);
+        verify(httpClient, times(2)).sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    }
+
+    @Test
+    void testGetAllPages_walksPagesUsingNextCursor() {
+        HttpResponse<InputStream> firstPage = mock(HttpResponse.class);
+        when(firstPage.headers()).thenReturn(noHeaders());
+        when(firstPage.statusCode()).thenReturn(200);
+        when(firstPage.body()).thenReturn(stream("{\"data\":[{\"name\":\"John Doe\"}],\"nextCursor\":\"MA\"}"));
+        HttpResponse<InputStream> lastPage = mock(HttpResponse.class);
+        when(lastPage.headers()).thenReturn(noHeaders());
+        when(lastPage.statusCode()).thenReturn(200);
+        when(lastPage.body()).thenReturn(stream("{\"data\":[{\"name\":\"Jake Luther\"}]}"));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(firstPage))
+                .thenReturn(CompletableFuture.completedFuture(lastPage));
+
+        List<Employee> employees = apiClient
+                .getAllPages("/employees", 1, new TypeReference<List<Employee>>() {})
+                .join()
+                .items();
+
+        assertEquals(
+                List.of("John Doe", "Jake Luther"),
+                employees.stream().map(Employee::getName).toList());
+        ArgumentCaptor<HttpRequest> requests = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).sendAsync(requests.capture(), any(HttpResponse.BodyHandler.class));
+        assertEquals(
+                List.of("/employees?limit=1", "/employees?limit=1&cursor=MA"),
+                requests.getAllValues().stream()
+                        .map(request ->
+                                request.uri().getPath() + "?" + request.uri().getQuery())
+                        .toList());
+    }
+
+    @Test
+    void testGet_reusesDecodedValueWhenNotModified() {
+        EmployeeServerAPIClient conditionalClient = new EmployeeServerAPIClient(
+                httpClient,
+                "http://localhost:8080",
+                objectMapper,
+                rateGovernor,
+                new UpstreamCallGuard(
+                        new SimpleMeterRegistry(), 8, 2, 2, Duration.ofMinutes(1), 1, Duration.ofSeconds(5)),
+                16,
+                WireFormat.JSON,
+                false,
+                meterRegistry);
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(stream("{\"data\":[{\"name\":\"John Doe\"}]}"));
+        when(httpResponse.headers())
+                .thenReturn(HttpHeaders.of(Map.of("ETag", List.of("\"v1\"")), (name, value) -> true));
+        HttpResponse<InputStream> notModifiedResponse = mock(HttpResponse.class);
+        when(notModifiedResponse.headers()).thenReturn(noHeaders());
+        when(notModifiedResponse.statusCode()).thenReturn(304);
+        when(notModifiedResponse.body()).thenReturn(stream(""));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse))
+                .thenReturn(CompletableFuture.completedFuture(notModifiedResponse));
+
+        List<Employee> first = conditionalClient
+                .get("/employees", new TypeReference<List<Employee>>() {})
+                .join();
+        List<Employee> second = conditionalClient
+                .get("/employees", new TypeReference<List<Employee>>() {})
+                .join();
+
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> second.add(new Employee()));
+        assertThrows(UnsupportedOperationException.class, () -> second.remove(0));
+        ArgumentCaptor<HttpRequest> requests = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).sendAsync(requests.capture(), any(HttpResponse.BodyHandler.class));
+        assertTrue(requests.getAllValues()
+                .get(0)
+                .headers()
+                .firstValue("If-None-Match")
+                .isEmpty());
+        assertEquals(
+                "\"v1\"",
+                requests.getAllValues()
+                        .get(1)
+                        .headers()
+                        .firstValue("If-None-Match")
+                        .orElseThrow());
+    }
+
+    @Test
+    void testGet_recordsUpstreamAndDecodeMetrics() {
+        String jsonResponse = "{\"data\":{\"id\":\"596205c5-e4dc-4b0e-89dc-b2ec6dc758ea\",\"name\":\"John Doe\"}}";
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(stream(jsonResponse));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        apiClient
+                .get("/api/v1/employee/596205c5-e4dc-4b0e-89dc-b2ec6dc758ea", new TypeReference<Employee>() {})
+                .join();
+
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.requests")
+                        .tags("method", "GET", "uri", "/api/v1/employee/{id}", "status", "200")
+                        .timer()
+                        .count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.decode")
+                        .tag("uri", "/api/v1/employee/{id}")
+                        .timer()
+                        .count());
+        assertEquals(
+                jsonResponse.length(),
+                meterRegistry
+                        .get("employee.upstream.response.size")
+                        .tag("uri", "/api/v1/employee/{id}")
+                        .summary()
+                        .totalAmount());
+    }
+
+    @Test
+    void testUriTemplate_replacesIdsAndDropsQuery() {
+        assertEquals("/api/v1/employee", EmployeeServerAPIClient.uriTemplate("/api/v1/employee?limit=100&cursor=MA"));
+        assertEquals(
+                "/api/v1/employee/changes", EmployeeServerAPIClient.uriTemplate("/api/v1/employee/changes?since=1"));
+        assertEquals("/api/v1/employee/{id}", EmployeeServerAPIClient.uriTemplate("/api/v1/employee/John%20Doe"));
+        assertEquals("/employees", EmployeeServerAPIClient.uriTemplate("/employees"));
+    }
+
+    @Test
+    void testGet_requestsConfiguredFormatAndDecodesByContentType() throws Exception {
+        EmployeeServerAPIClient smileClient = new EmployeeServerAPIClient(
+                httpClient,
+                "http://localhost:8080",
+                objectMapper,
+                rateGovernor,
+                new UpstreamCallGuard(
+                        new SimpleMeterRegistry(), 8, 2, 2, Duration.ofMinutes(1), 1, Duration.ofSeconds(5)),
+                0,
+                WireFormat.SMILE,
+                false,
+                meterRegistry);
+        byte[] smileResponse = WireFormat.SMILE
+                .mapper(objectMapper)
+                .writeValueAsBytes(Map.of("data", List.of(Map.of("employee_name", "John Doe"))));
+        HttpResponse<InputStream> smileHttpResponse = mock(HttpResponse.class);
+        when(smileHttpResponse.headers())
+                .thenReturn(HttpHeaders.of(
+                        Map.of("Content-Type", List.of("application/x-jackson-smile")), (name, value) -> true));
+        when(smileHttpResponse.statusCode()).thenReturn(200);
+        when(smileHttpResponse.body()).thenReturn(new ByteArrayInputStream(smileResponse));
+        HttpResponse<InputStream> jsonHttpResponse = mock(HttpResponse.class);
+        when(jsonHttpResponse.headers())
+                .thenReturn(HttpHeaders.of(Map.of("Content-Type", List.of("application/json")), (name, value) -> true));
+        when(jsonHttpResponse.statusCode()).thenReturn(200);
+        when(jsonHttpResponse.body()).thenReturn(stream("{\"data\":[{\"employee_name\":\"Jane Doe\"}]}"));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(smileHttpResponse))
+                .thenReturn(CompletableFuture.completedFuture(jsonHttpResponse));
+
+        List<Employee> fromSmile = smileClient
+                .get("/api/v1/employee", new TypeReference<List<Employee>>() {})
+                .join();
+        List<Employee> fromJson = smileClient
+                .get("/api/v1/employee", new TypeReference<List<Employee>>() {})
+                .join();
+
+        assertEquals("John Doe", fromSmile.get(0).getName());
+        assertEquals("Jane Doe", fromJson.get(0).getName());
+        ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).sendAsync(requestCaptor.capture(), any(HttpResponse.BodyHandler.class));
+        assertEquals(
+                WireFormat.SMILE.acceptHeader(),
+                requestCaptor.getValue().headers().firstValue("Accept").orElseThrow());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.decode")
+                        .tag("format", "SMILE")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void testGet_requestsCompressionAndDecompressesGzipAndDeflate() throws Exception {
+        EmployeeServerAPIClient compressingClient = new EmployeeServerAPIClient(
+                httpClient,
+                "http://localhost:8080",
+                objectMapper,
+                rateGovernor,
+                new UpstreamCallGuard(
+                        new SimpleMeterRegistry(), 8, 2, 2, Duration.ofMinutes(1), 1, Duration.ofSeconds(5)),
+                0,
+                WireFormat.JSON,
+                true,
+                meterRegistry);
+        String jsonResponse =
+                "{\"data\":[" + "{\"employee_name\":\"John Doe\"},".repeat(99) + "{\"employee_name\":\"Jane Doe\"}]}";
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(jsonResponse.getBytes(StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+        try (OutputStream out = new DeflaterOutputStream(deflated)) {
+            out.write(jsonResponse.getBytes(StandardCharsets.UTF_8));
+        }
+        HttpResponse<InputStream> gzipResponse = mock(HttpResponse.class);
+        when(gzipResponse.headers())
+                .thenReturn(HttpHeaders.of(Map.of("Content-Encoding", List.of("gzip")), (name, value) -> true));
+        when(gzipResponse.statusCode()).thenReturn(200);
+        when(gzipResponse.body()).thenReturn(new ByteArrayInputStream(gzipped.toByteArray()));
+        HttpResponse<InputStream> deflateResponse = mock(HttpResponse.class);
+        when(deflateResponse.headers())
+                .thenReturn(HttpHeaders.of(Map.of("Content-Encoding", List.of("deflate")), (name, value) -> true));
+        when(deflateResponse.statusCode()).thenReturn(200);
+        when(deflateResponse.body()).thenReturn(new ByteArrayInputStream(deflated.toByteArray()));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(gzipResponse))
+                .thenReturn(CompletableFuture.completedFuture(deflateResponse));
+
+        List<Employee> fromGzip = compressingClient
+                .get("/api/v1/employee", new TypeReference<List<Employee>>() {})
+                .join();
+        List<Employee> fromDeflate = compressingClient
+                .get("/api/v1/employee", new TypeReference<List<Employee>>() {})
+                .join();
+
+        assertEquals(100, fromGzip.size());
+        assertEquals("Jane Doe", fromGzip.get(99).getName());
+        assertEquals(100, fromDeflate.size());
+        ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient, times(2)).sendAsync(requestCaptor.capture(), any(HttpResponse.BodyHandler.class));
+        assertEquals(
+                "gzip, deflate",
+                requestCaptor.getValue().headers().firstValue("Accept-Encoding").orElseThrow());
+        assertEquals(
+                gzipped.size(),
+                meterRegistry
+                        .get("employee.upstream.response.wire.size")
+                        .tag("encoding", "gzip")
+                        .summary()
+                        .totalAmount());
+        assertEquals(
+                2.0 * jsonResponse.length(),
+                meterRegistry.get("employee.upstream.response.size").summary().totalAmount());
+    }
+
+    @Test
+    void testGet_doesNotRequestCompressionWhenDisabled() {
+        HttpResponse<InputStream> httpResponse = mock(HttpResponse.class);
+        when(httpResponse.headers()).thenReturn(noHeaders());
+        when(httpResponse.statusCode()).thenReturn(200);
+        when(httpResponse.body()).thenReturn(stream("{\"data\":[]}"));
+        when(httpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(httpResponse));
+
+        apiClient
+                .get("/api/v1/employee", new TypeReference<List<Employee>>() {})
+                .join();
+
+        ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).sendAsync(requestCaptor.capture(), any(HttpResponse.BodyHandler.class));
+        assertTrue(
+                requestCaptor.getValue().headers().firstValue("Accept-Encoding").isEmpty());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.response.wire.size")
+                        .tag("encoding", "identity")
+                        .summary()
+                        .count());
+    }
+
+    @Test
+    void testFromContentType_defaultsToJson() {
+        assertEquals(WireFormat.SMILE, WireFormat.fromContentType("application/x-jackson-smile"));
+        assertEquals(WireFormat.CBOR, WireFormat.fromContentType("application/cbor;charset=UTF-8"));
+        assertEquals(WireFormat.JSON, WireFormat.fromContentType("application/json"));
+        assertEquals(WireFormat.JSON, WireFormat.fromContentType(null));
+        assertEquals(WireFormat.JSON, WireFormat.fromContentType("text/plain"));
+    }
+
+    private static HttpHeaders noHeaders() {
+        return HttpHeaders.of(Map.of(), (name, value) -> true);
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
 }
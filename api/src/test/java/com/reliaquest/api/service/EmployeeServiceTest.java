@@ -2,12 +2,14 @@ package com.reliaquest.api.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.reliaquest.api.controller.request.DeleteEmployeeInput;
 import com.reliaquest.api.controller.request.EmployeeCreationInput;
 import com.reliaquest.api.exception.APIException;
 import com.reliaquest.api.model.Employee;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -17,7 +19,27 @@ import org.mockito.Mockito;
 
 class EmployeeServiceTest {
     private final EmployeeServerAPIClient employeeServerApiClient = Mockito.mock(EmployeeServerAPIClient.class);
-    private final EmployeeService employeeService = new EmployeeService(employeeServerApiClient);
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+    private final NameSearchIndex nameSearchIndex = new NameSearchIndex();
+    private final EmployeeSnapshotCache employeeSnapshotCache = new EmployeeSnapshotCache(
+            employeeServerApiClient,
+            List.of(salaryIndex, nameSearchIndex),
+            EmployeeSnapshotCache.ConsistencyMode.UPSTREAM,
+            Duration.ZERO,
+            0,
+            false);
+    private final EmployeeService employeeService = new EmployeeService(
+            employeeServerApiClient,
+            employeeSnapshotCache,
+            salaryIndex,
+            nameSearchIndex,
+            new ServerQueries(employeeServerApiClient, false, Duration.ofMinutes(5)));
+    private final EmployeeService pushdownEmployeeService = new EmployeeService(
+            employeeServerApiClient,
+            employeeSnapshotCache,
+            salaryIndex,
+            nameSearchIndex,
+            new ServerQueries(employeeServerApiClient, true, Duration.ofMinutes(5)));
     private static final String EMPLOYEE_SERVER_API_PATH = "/api/v1/employee";
 
     private final ArgumentCaptor<String> urlCaptor = ArgumentCaptor.forClass(String.class);
@@ -150,7 +172,7 @@ class EmployeeServiceTest {
         verify(employeeServerApiClient, times(1))
                 .delete(urlCaptor.capture(), deleteEmployeeInputArgumentCaptor.capture());
         assertEquals(EMPLOYEE_SERVER_API_PATH, urlCaptor.getValue());
-        assertEquals("John", deleteEmployeeInputArgumentCaptor.getValue().name());
+        assertEquals(DeleteEmployeeInput.byId(mockEmployee.getId()), deleteEmployeeInputArgumentCaptor.getValue());
     }
 
     @Test
@@ -162,4 +184,61 @@ class EmployeeServiceTest {
                 APIException.class, () -> employeeService.deleteEmployee("abcbc123-4567-890a-bcde-fghij123456789"));
         verify(employeeServerApiClient, times(0)).delete(any(), any());
     }
+
+    @Test
+    void itShouldPushSearchDownToServerThatSupportsIt() {
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH + "/capabilities"), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of("search", "salary-max", "salary-top")));
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH + "/search?name=Ja+L"), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(mockEmployeeList.get(1))));
+
+        List<Employee> receivedEmployees = pushdownEmployeeService.getEmployeesByNameSearch("Ja L");
+
+        assertEquals(List.of(mockEmployeeList.get(1)), receivedEmployees);
+        verify(employeeServerApiClient, never()).get(eq(EMPLOYEE_SERVER_API_PATH), any());
+    }
+
+    @Test
+    void itShouldPushSalaryQueriesDownToServerThatSupportsThem() {
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH + "/capabilities"), any()))
+                .thenReturn(CompletableFuture.completedFuture(List.of("search", "salary-max", "salary-top")));
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH + "/salary/max"), any()))
+                .thenReturn(CompletableFuture.completedFuture(2000));
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH + "/salary/top?limit=2"), any()))
+                .thenReturn(
+                        CompletableFuture.completedFuture(List.of(mockEmployeeList.get(1), mockEmployeeList.get(0))));
+
+        assertEquals(2000, pushdownEmployeeService.getHighestSalaryOfEmployees());
+        assertEquals(List.of("Jake Luther", "John Doe"), pushdownEmployeeService.getTopEmployeesBySalary(2));
+        verify(employeeServerApiClient, times(1)).get(eq(EMPLOYEE_SERVER_API_PATH + "/capabilities"), any());
+        verify(employeeServerApiClient, never()).get(eq(EMPLOYEE_SERVER_API_PATH), any());
+    }
+
+    @Test
+    void itShouldComputeQueriesFromFullListWhenServerDoesNotSupportThem() {
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH + "/capabilities"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(404, "Not Found")));
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH), any()))
+                .thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+
+        assertEquals(2000, pushdownEmployeeService.getHighestSalaryOfEmployees());
+        assertEquals(2, pushdownEmployeeService.getEmployeesByNameSearch("Ja").size());
+        verify(employeeServerApiClient, times(1)).get(eq(EMPLOYEE_SERVER_API_PATH + "/capabilities"), any());
+        verify(employeeServerApiClient, times(2)).get(eq(EMPLOYEE_SERVER_API_PATH), any());
+    }
+
+    @Test
+    void itShouldProbeCapabilitiesAgainAfterFailedProbe() {
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH + "/capabilities"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new APIException(503, "Unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(List.of("salary-max")));
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH), any()))
+                .thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+        when(employeeServerApiClient.get(eq(EMPLOYEE_SERVER_API_PATH + "/salary/max"), any()))
+                .thenReturn(CompletableFuture.completedFuture(3000));
+
+        assertEquals(2000, pushdownEmployeeService.getHighestSalaryOfEmployees());
+        assertEquals(3000, pushdownEmployeeService.getHighestSalaryOfEmployees());
+        verify(employeeServerApiClient, times(2)).get(eq(EMPLOYEE_SERVER_API_PATH + "/capabilities"), any());
+    }
 }
@@ -0,0 +1,259 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class EmployeeSnapshotCacheTest {
+    private final EmployeeServerAPIClient employeeServerApiClient = Mockito.mock(EmployeeServerAPIClient.class);
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+
+    List<Employee> mockEmployeeList = List.of(
+            new Employee(UUID.randomUUID(), "John Doe", 1000, 22, "Software Engineer", "john@gmail.com"),
+            new Employee(UUID.randomUUID(), "Jake Luther", 2000, 22, "Security Engineer", "jake@gmail.com"));
+
+    @Test
+    void itShouldFetchFromServerOnEveryCallInUpstreamMode() {
+        EmployeeSnapshotCache cache = cache(EmployeeSnapshotCache.ConsistencyMode.UPSTREAM, Duration.ofMinutes(1));
+        when(employeeServerApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+
+        cache.getSnapshot().join();
+        cache.getSnapshot().join();
+
+        verify(employeeServerApiClient, times(2)).get(any(), any());
+    }
+
+    @Test
+    void itShouldNotMaintainIndexesInUpstreamMode() {
+        EmployeeSnapshotCache cache = cache(EmployeeSnapshotCache.ConsistencyMode.UPSTREAM, Duration.ofMinutes(1));
+        when(employeeServerApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+
+        assertEquals(2, cache.getSnapshot().join().employees().size());
+
+        assertEquals(0, salaryIndex.getHighestSalary());
+        assertTrue(cache.read(snapshot -> snapshot).isEmpty());
+    }
+
+    @Test
+    void itShouldServeFreshSnapshotWithoutFetchingAgainInCachedMode() {
+        EmployeeSnapshotCache cache = cache(EmployeeSnapshotCache.ConsistencyMode.CACHED, Duration.ofMinutes(1));
+        when(employeeServerApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+
+        EmployeeSnapshot first = cache.getSnapshot().join();
+        EmployeeSnapshot second = cache.getSnapshot().join();
+
+        assertSame(first, second);
+        assertEquals(2, second.employees().size());
+        verify(employeeServerApiClient, times(1)).get(any(), any());
+    }
+
+    @Test
+    void itShouldServeStaleSnapshotWhileRefreshIsInFlight() {
+        EmployeeSnapshotCache cache = cache(EmployeeSnapshotCache.ConsistencyMode.CACHED, Duration.ZERO);
+        CompletableFuture<List<Employee>> pendingRefresh = new CompletableFuture<>();
+        when(employeeServerApiClient.<List<Employee>>get(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mockEmployeeList))
+                .thenReturn(pendingRefresh);
+
+        EmployeeSnapshot stale = cache.getSnapshot().join();
+        assertSame(stale, cache.getSnapshot().join());
+        assertSame(stale, cache.getSnapshot().join());
+        verify(employeeServerApiClient, times(2)).get(any(), any());
+
+        pendingRefresh.complete(mockEmployeeList.subList(0, 1));
+        EmployeeSnapshot refreshed = cache.getSnapshot().join();
+
+        assertTrue(refreshed.version() > stale.version());
+        assertEquals(1, refreshed.employees().size());
+    }
+
+    @Test
+    void itShouldApplyCreatedAndDeletedEmployeesToCachedSnapshot() {
+        EmployeeSnapshotCache cache = cache(EmployeeSnapshotCache.ConsistencyMode.CACHED, Duration.ofMinutes(1));
+        when(employeeServerApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+        long loadedVersion = cache.getSnapshot().join().version();
+        Employee created =
+                new Employee(UUID.randomUUID(), "Will Jacks", 500, 22, "Software Engineer", "will@gmail.com");
+
+        cache.onEmployeeCreated(created);
+        assertEquals(3, cache.getSnapshot().join().employees().size());
+
+        cache.onEmployeeDeleted(mockEmployeeList.get(0));
+        EmployeeSnapshot updated = cache.getSnapshot().join();
+
+        assertEquals(2, updated.employees().size());
+        assertEquals(loadedVersion + 2, updated.version());
+        assertFalse(updated.employees().contains(mockEmployeeList.get(0)));
+        assertEquals(List.of("Jake Luther", "Will Jacks"), salaryIndex.getTopEmployeeNames(10));
+        verify(employeeServerApiClient, times(1)).get(any(), any());
+    }
+
+    @Test
+    void itShouldApplyABurstOfLocalWritesOnTheNextRead() {
+        EmployeeSnapshotCache cache = cache(EmployeeSnapshotCache.ConsistencyMode.CACHED, Duration.ofMinutes(1));
+        when(employeeServerApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+        EmployeeSnapshot loaded = cache.getSnapshot().join();
+        List<Employee> created = List.of(
+                new Employee(UUID.randomUUID(), "Will Jacks", 500, 22, "Software Engineer", "will@gmail.com"),
+                new Employee(UUID.randomUUID(), "Mia Stone", 3000, 22, "Data Engineer", "mia@gmail.com"));
+
+        created.forEach(cache::onEmployeeCreated);
+        cache.onEmployeeDeleted(mockEmployeeList.get(1));
+        cache.onEmployeeDeleted(created.get(0));
+        EmployeeSnapshot updated = cache.read(snapshot -> snapshot).orElseThrow();
+
+        assertEquals(loaded.version() + 4, updated.version());
+        assertEquals(loaded.loadedAt(), updated.loadedAt());
+        assertEquals(
+                List.of("John Doe", "Mia Stone"),
+                updated.employees().stream().map(Employee::getName).toList());
+        assertEquals(List.of("Mia Stone", "John Doe"), salaryIndex.getTopEmployeeNames(10));
+        assertSame(updated, cache.getSnapshot().join());
+    }
+
+    @Test
+    void itShouldNotHoldReadersOffEachOther() throws Exception {
+        EmployeeSnapshotCache cache = cache(EmployeeSnapshotCache.ConsistencyMode.CACHED, Duration.ofMinutes(1));
+        when(employeeServerApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+        cache.getSnapshot().join();
+        CountDownLatch firstReading = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> cache.read(snapshot -> {
+                    firstReading.countDown();
+                    return await(secondDone);
+                })
+                .orElseThrow());
+        assertTrue(firstReading.await(5, TimeUnit.SECONDS));
+        cache.read(snapshot -> snapshot.employees().size()).orElseThrow();
+        secondDone.countDown();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void itShouldKeepLocalWritesMadeWhileLoadIsInFlight() {
+        EmployeeSnapshotCache cache = cache(EmployeeSnapshotCache.ConsistencyMode.CACHED, Duration.ZERO);
+        CompletableFuture<List<Employee>> pendingRefresh = new CompletableFuture<>();
+        when(employeeServerApiClient.<List<Employee>>get(any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mockEmployeeList))
+                .thenReturn(pendingRefresh);
+        Employee created =
+                new Employee(UUID.randomUUID(), "Will Jacks", 5000, 22, "Software Engineer", "will@gmail.com");
+
+        cache.getSnapshot().join();
+        cache.getSnapshot().join();
+        cache.onEmployeeCreated(created);
+        cache.onEmployeeDeleted(mockEmployeeList.get(0));
+        pendingRefresh.complete(mockEmployeeList);
+        EmployeeSnapshot refreshed = cache.getSnapshot().join();
+
+        assertEquals(
+                List.of("Jake Luther", "Will Jacks"),
+                refreshed.employees().stream().map(Employee::getName).toList());
+        assertEquals(List.of("Will Jacks", "Jake Luther"), salaryIndex.getTopEmployeeNames(10));
+    }
+
+    @Test
+    void itShouldRebuildIndexesWhenSnapshotIsLoaded() {
+        EmployeeSnapshotCache cache = cache(EmployeeSnapshotCache.ConsistencyMode.CACHED, Duration.ofMinutes(1));
+        when(employeeServerApiClient.get(any(), any())).thenReturn(CompletableFuture.completedFuture(mockEmployeeList));
+
+        cache.getSnapshot().join();
+
+        assertEquals(2000, salaryIndex.getHighestSalary());
+    }
+
+    @Test
+    void itShouldLoadPageByPageWhenPageSizeIsSet() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                employeeServerApiClient,
+                List.of(salaryIndex),
+                EmployeeSnapshotCache.ConsistencyMode.CACHED,
+                Duration.ofMinutes(1),
+                100,
+                false);
+        when(employeeServerApiClient.<Employee>getAllPages(any(), eq(100), any()))
+                .thenReturn(CompletableFuture.completedFuture(new ServerPage<>(mockEmployeeList, null, null)));
+
+        assertEquals(2, cache.getSnapshot().join().employees().size());
+        verify(employeeServerApiClient, never()).get(any(), any());
+    }
+
+    @Test
+    void itShouldApplyServerChangesInsteadOfReloadingWithDeltaSync() {
+        EmployeeSnapshotCache cache = deltaSyncCache();
+        Employee created =
+                new Employee(UUID.randomUUID(), "Will Jacks", 5000, 22, "Software Engineer", "will@gmail.com");
+        when(employeeServerApiClient.<Employee>getAllPages(any(), eq(0), any()))
+                .thenReturn(CompletableFuture.completedFuture(new ServerPage<>(mockEmployeeList, null, 10L)));
+        when(employeeServerApiClient.<EmployeeChangeSet>get(eq("/api/v1/employee/changes?since=10"), any()))
+                .thenReturn(CompletableFuture.completedFuture(new EmployeeChangeSet(
+                        12,
+                        false,
+                        List.of(
+                                new EmployeeChange(11, EmployeeChange.Type.CREATED, created),
+                                new EmployeeChange(12, EmployeeChange.Type.DELETED, mockEmployeeList.get(1))))));
+
+        EmployeeSnapshot loaded = cache.getSnapshot().join();
+        EmployeeSnapshot synced = cache.getSnapshot().join();
+
+        assertEquals(2, loaded.employees().size());
+        assertEquals(
+                List.of("John Doe", "Will Jacks"),
+                synced.employees().stream().map(Employee::getName).toList());
+        assertEquals(5000, salaryIndex.getHighestSalary());
+        verify(employeeServerApiClient, times(1)).getAllPages(any(), eq(0), any());
+    }
+
+    @Test
+    void itShouldReloadWhenServerRequiresResync() {
+        EmployeeSnapshotCache cache = deltaSyncCache();
+        when(employeeServerApiClient.<Employee>getAllPages(any(), eq(0), any()))
+                .thenReturn(CompletableFuture.completedFuture(new ServerPage<>(mockEmployeeList, null, 10L)))
+                .thenReturn(
+                        CompletableFuture.completedFuture(new ServerPage<>(mockEmployeeList.subList(0, 1), null, 20L)));
+        when(employeeServerApiClient.<EmployeeChangeSet>get(eq("/api/v1/employee/changes?since=10"), any()))
+                .thenReturn(CompletableFuture.completedFuture(new EmployeeChangeSet(20, true, List.of())));
+
+        cache.getSnapshot().join();
+        EmployeeSnapshot reloaded = cache.getSnapshot().join();
+
+        assertEquals(1, reloaded.employees().size());
+        verify(employeeServerApiClient, times(2)).getAllPages(any(), eq(0), any());
+    }
+
+    private EmployeeSnapshotCache deltaSyncCache() {
+        return new EmployeeSnapshotCache(
+                employeeServerApiClient,
+                List.of(salaryIndex),
+                EmployeeSnapshotCache.ConsistencyMode.UPSTREAM,
+                Duration.ZERO,
+                0,
+                true);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private EmployeeSnapshotCache cache(EmployeeSnapshotCache.ConsistencyMode mode, Duration ttl) {
+        return new EmployeeSnapshotCache(employeeServerApiClient, List.of(salaryIndex), mode, ttl, 0, false);
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NameSearchIndexTest {
+    private final NameSearchIndex nameSearchIndex = new NameSearchIndex();
+
+    Employee john = new Employee(UUID.randomUUID(), "John Doe", 1000, 22, "Software Engineer", "john@gmail.com");
+    Employee jake = new Employee(UUID.randomUUID(), "Jake Luther", 2000, 22, "Security Engineer", "jake@gmail.com");
+    Employee will = new Employee(UUID.randomUUID(), "Will Jacks", 500, 22, "Software Engineer", "will@gmail.com");
+
+    @BeforeEach
+    void setup() {
+        nameSearchIndex.rebuild(List.of(john, jake, will));
+    }
+
+    @Test
+    void itShouldMatchShortSearchStringsIgnoringCase() {
+        assertEquals(List.of(jake, will), nameSearchIndex.search("Ja"));
+        assertEquals(List.of(john, jake, will), nameSearchIndex.search("J"));
+        assertEquals(List.of(john), nameSearchIndex.search("DOE"));
+    }
+
+    @Test
+    void itShouldMatchLongSearchStringsAcrossWords() {
+        assertEquals(List.of(jake), nameSearchIndex.search("ke lUth"));
+        assertEquals(List.of(will), nameSearchIndex.search("Will Jacks"));
+    }
+
+    @Test
+    void itShouldNotMatchWhenOnlySomeTrigramsArePresent() {
+        assertEquals(List.of(), nameSearchIndex.search("Jake Doe"));
+        assertEquals(List.of(), nameSearchIndex.search("xyz"));
+    }
+
+    @Test
+    void itShouldReturnAllEmployeesForEmptySearchString() {
+        assertEquals(List.of(john, jake, will), nameSearchIndex.search(""));
+    }
+
+    @Test
+    void itShouldTrackCreatedAndDeletedEmployees() {
+        Employee jane = new Employee(UUID.randomUUID(), "Jane Jacobs", 1500, 30, "Architect", "jane@gmail.com");
+
+        nameSearchIndex.add(jane);
+        assertEquals(List.of(will, jane), nameSearchIndex.search("jac"));
+
+        nameSearchIndex.remove(will);
+        assertEquals(List.of(jane), nameSearchIndex.search("jac"));
+        assertEquals(List.of(), nameSearchIndex.search("will"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RequestCoalescerTest {
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+    @Test
+    void itShouldShareInFlightCallBetweenCallersOfSameKey() {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = requestCoalescer.execute("/employees", () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = requestCoalescer.execute("/employees", () -> {
+            upstreamCalls.incrementAndGet();
+            return upstream;
+        });
+        upstream.complete("result");
+
+        assertEquals("result", first.join());
+        assertEquals("result", second.join());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, requestCoalescer.getUpstreamCalls());
+        assertEquals(2, requestCoalescer.getCallers());
+        assertEquals(2.0, requestCoalescer.getFanInRatio());
+    }
+
+    @Test
+    void itShouldNotShareCallsForDifferentKeys() {
+        CompletableFuture<String> first =
+                requestCoalescer.execute("/employees/1", () -> CompletableFuture.completedFuture("first"));
+        CompletableFuture<String> second =
+                requestCoalescer.execute("/employees/2", () -> CompletableFuture.completedFuture("second"));
+
+        assertEquals("first", first.join());
+        assertEquals("second", second.join());
+        assertEquals(2, requestCoalescer.getUpstreamCalls());
+    }
+
+    @Test
+    void itShouldStartNewCallOnceThePreviousOneCompleted() {
+        requestCoalescer
+                .execute("/employees", () -> CompletableFuture.completedFuture("first"))
+                .join();
+        String result = requestCoalescer
+                .execute("/employees", () -> CompletableFuture.completedFuture("second"))
+                .join();
+
+        assertEquals("second", result);
+        assertEquals(2, requestCoalescer.getUpstreamCalls());
+    }
+
+    @Test
+    void itShouldPropagateFailureToAllCallers() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = requestCoalescer.execute("/employees", () -> upstream);
+        CompletableFuture<String> second = requestCoalescer.execute("/employees", () -> upstream);
+        upstream.completeExceptionally(new IllegalStateException("upstream failed"));
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+    private final SalaryIndex salaryIndex = new SalaryIndex();
+
+    Employee john = new Employee(UUID.randomUUID(), "John Doe", 1000, 22, "Software Engineer", "john@gmail.com");
+    Employee jake = new Employee(UUID.randomUUID(), "Jake Luther", 2000, 22, "Security Engineer", "jake@gmail.com");
+    Employee will = new Employee(UUID.randomUUID(), "Will Jacks", 500, 22, "Software Engineer", "will@gmail.com");
+    Employee jane = new Employee(UUID.randomUUID(), "Jane Doe", 1000, 30, "Architect", "jane@gmail.com");
+
+    @Test
+    void itShouldReturnZeroAsHighestSalaryWhenEmpty() {
+        salaryIndex.rebuild(List.of());
+
+        assertEquals(0, salaryIndex.getHighestSalary());
+        assertEquals(List.of(), salaryIndex.getTopEmployeeNames(10));
+    }
+
+    @Test
+    void itShouldOrderTopEmployeesBySalaryKeepingLoadOrderForTies() {
+        salaryIndex.rebuild(List.of(john, jake, will, jane));
+
+        assertEquals(2000, salaryIndex.getHighestSalary());
+        assertEquals(List.of("Jake Luther", "John Doe", "Jane Doe"), salaryIndex.getTopEmployeeNames(3));
+        assertEquals(List.of("Jake Luther", "John Doe", "Jane Doe", "Will Jacks"), salaryIndex.getTopEmployeeNames(10));
+    }
+
+    @Test
+    void itShouldTrackCreatedAndDeletedEmployees() {
+        salaryIndex.rebuild(List.of(john, will));
+        Employee created = new Employee(UUID.randomUUID(), "Jill Jenkins", 3000, 48, "Financial Advisor", "jj@rq.com");
+
+        salaryIndex.add(created);
+        assertEquals(3000, salaryIndex.getHighestSalary());
+
+        salaryIndex.remove(created);
+        salaryIndex.remove(john);
+        assertEquals(500, salaryIndex.getHighestSalary());
+        assertEquals(List.of("Will Jacks"), salaryIndex.getTopEmployeeNames(10));
+    }
+
+    @Test
+    void itShouldDiscardPreviousEmployeesOnRebuild() {
+        salaryIndex.rebuild(List.of(jake));
+        salaryIndex.rebuild(List.of(john));
+
+        assertEquals(1000, salaryIndex.getHighestSalary());
+        assertEquals(List.of("John Doe"), salaryIndex.getTopEmployeeNames(10));
+    }
+
+    @Test
+    void itShouldCountAndSliceEmployeesInSalaryRange() {
+        salaryIndex.rebuild(List.of(john, jake, will, jane));
+
+        assertEquals(3, salaryIndex.countInRange(500, 1000));
+        assertEquals(0, salaryIndex.countInRange(1001, 1999));
+        assertEquals(0, salaryIndex.countInRange(2000, 500));
+        assertEquals(List.of(john, jane, will), salaryIndex.getInRange(500, 1000, 0, 10));
+        assertEquals(List.of(jane), salaryIndex.getInRange(500, 1000, 1, 1));
+        assertEquals(List.of(), salaryIndex.getInRange(500, 1000, 3, 10));
+    }
+
+    @Test
+    void itShouldRankEmployeesSharingSalaryEqually() {
+        salaryIndex.rebuild(List.of(john, jake, will, jane));
+
+        assertEquals(1, salaryIndex.getRank(jake.getId()).getAsInt());
+        assertEquals(2, salaryIndex.getRank(john.getId()).getAsInt());
+        assertEquals(2, salaryIndex.getRank(jane.getId()).getAsInt());
+        assertEquals(4, salaryIndex.getRank(will.getId()).getAsInt());
+        assertTrue(salaryIndex.getRank(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void itShouldReturnNearestRankPercentiles() {
+        salaryIndex.rebuild(List.of(john, jake, will, jane));
+
+        assertEquals(500, salaryIndex.getPercentile(25).getAsInt());
+        assertEquals(1000, salaryIndex.getPercentile(50).getAsInt());
+        assertEquals(2000, salaryIndex.getPercentile(99).getAsInt());
+        assertEquals(2000, salaryIndex.getPercentile(100).getAsInt());
+    }
+
+    @Test
+    void itShouldKeepOrderStatisticsConsistentAcrossManyUpdates() {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            employees.add(new Employee(UUID.randomUUID(), "Employee " + i, random.nextInt(1000), 30, "Title", null));
+        }
+        salaryIndex.rebuild(employees);
+        for (int i = 0; i < 200; i++) {
+            salaryIndex.remove(employees.remove(random.nextInt(employees.size())));
+        }
+
+        List<Employee> expected = employees.stream()
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .toList();
+        assertEquals(expected.size(), salaryIndex.countInRange(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(expected.stream().map(Employee::getName).limit(10).toList(), salaryIndex.getTopEmployeeNames(10));
+        assertEquals(expected.get(0).getSalary(), salaryIndex.getHighestSalary());
+        assertEquals(
+                expected.stream()
+                        .filter(e -> e.getSalary() >= 250 && e.getSalary() <= 750)
+                        .toList(),
+                salaryIndex.getInRange(250, 750, 0, Integer.MAX_VALUE));
+    }
+}
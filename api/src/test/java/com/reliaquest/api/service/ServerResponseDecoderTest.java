@@ -0,0 +1,84 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ServerResponseDecoderTest {
+    private final ServerResponseDecoder responseDecoder = new ServerResponseDecoder(new ObjectMapper());
+
+    @Test
+    void itShouldBindDataFieldRegardlessOfItsPositionInEnvelope() throws IOException {
+        String body =
+                """
+      {
+        "status": "Successfully processed request.",
+        "data": [
+          {"id": "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507", "employee_name": "John Clair", "employee_salary": 1000},
+          {"id": "5255f1a5-f9f7-4be5-829a-134bde088d17", "employee_name": "Bill Bob", "employee_salary": 2000}
+        ],
+        "meta": {"ignored": [1, 2, 3]}
+      }
+      """;
+
+        List<Employee> employees = responseDecoder.decodeData(stream(body), new TypeReference<>() {});
+
+        assertEquals(2, employees.size());
+        assertEquals("John Clair", employees.get(0).getName());
+        assertEquals(2000, employees.get(1).getSalary());
+    }
+
+    @Test
+    void itShouldReturnNullWhenDataIsNullOrMissing() throws IOException {
+        assertNull(responseDecoder.decodeData(stream("{\"data\": null}"), new TypeReference<Employee>() {}));
+        assertNull(responseDecoder.decodeData(stream("{\"status\": \"ok\"}"), new TypeReference<Employee>() {}));
+    }
+
+    @Test
+    void itShouldDecodePageWithNextCursor() throws IOException {
+        String body =
+                """
+      {
+        "data": [{"id": "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507", "employee_name": "John Clair"}],
+        "nextCursor": "MQ",
+        "version": 1700000000042,
+        "status": "Successfully processed request."
+      }
+      """;
+
+        ServerPage<Employee> page = responseDecoder.decodePage(stream(body), new TypeReference<>() {});
+
+        assertEquals(1, page.items().size());
+        assertEquals("MQ", page.nextCursor());
+        assertEquals(1700000000042L, page.version());
+        assertTrue(page.hasNext());
+        assertFalse(responseDecoder
+                .decodePage(stream("{\"data\": []}"), new TypeReference<List<Employee>>() {})
+                .hasNext());
+    }
+
+    @Test
+    void itShouldDecodeScalarData() throws IOException {
+        assertTrue(responseDecoder.decodeData(stream("{\"data\": true}"), new TypeReference<Boolean>() {}));
+    }
+
+    @Test
+    void itShouldRejectBodyThatIsNotAnEnvelope() {
+        assertThrows(
+                JsonParseException.class,
+                () -> responseDecoder.decodeData(stream("[1, 2]"), new TypeReference<List<Integer>>() {}));
+    }
+
+    private static InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.APIException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+
+class UpstreamRateGovernorTest {
+    private final UpstreamRateGovernor rateGovernor =
+            new UpstreamRateGovernor(4, 0.5, 8, Duration.ofSeconds(1), 3, Duration.ofMillis(1), Duration.ofSeconds(5));
+
+    @Test
+    void itShouldLetBurstThroughWithoutDelay() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(rateGovernor.acquire(rateGovernor.newDeadline()).isDone());
+        }
+    }
+
+    @Test
+    void itShouldDelayRequestsBeyondTheBurst() {
+        for (int i = 0; i < 4; i++) {
+            rateGovernor.acquire(rateGovernor.newDeadline()).join();
+        }
+
+        CompletableFuture<Void> delayed = rateGovernor.acquire(rateGovernor.newDeadline());
+
+        assertFalse(delayed.isDone());
+        delayed.join();
+    }
+
+    @Test
+    void itShouldFailFastWhenRetryAfterIsBeyondDeadline() {
+        rateGovernor.onThrottled(Optional.of("60"));
+
+        CompletableFuture<Void> permit = rateGovernor.acquire(rateGovernor.newDeadline());
+
+        CompletionException exception = assertThrows(CompletionException.class, permit::join);
+        assertEquals(429, ((APIException) exception.getCause()).statusCode);
+    }
+
+    @Test
+    void itShouldHalveRateWhenThrottledAndRecoverOnSuccess() {
+        rateGovernor.onThrottled(Optional.empty());
+        assertEquals(2, rateGovernor.getRate(), 0.001);
+
+        rateGovernor.onThrottled(Optional.empty());
+        rateGovernor.onThrottled(Optional.empty());
+        assertEquals(0.5, rateGovernor.getRate(), 0.001);
+
+        rateGovernor.onSuccess();
+        assertEquals(0.6, rateGovernor.getRate(), 0.001);
+    }
+
+    @Test
+    void itShouldParseRetryAfterSecondsAndHttpDates() {
+        assertEquals(Optional.of(Duration.ofSeconds(30)), UpstreamRateGovernor.parseRetryAfter("30"));
+        assertEquals(Optional.empty(), UpstreamRateGovernor.parseRetryAfter("soon"));
+
+        String httpDate =
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(120));
+        Duration retryAfter = UpstreamRateGovernor.parseRetryAfter(httpDate).orElseThrow();
+        assertTrue(retryAfter.compareTo(Duration.ofSeconds(100)) > 0);
+    }
+}
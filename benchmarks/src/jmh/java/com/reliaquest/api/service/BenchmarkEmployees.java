@@ -0,0 +1,59 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic employees with realistic names, titles and salaries, so runs at the same size are comparable.
+ */
+final class BenchmarkEmployees {
+
+    private static final String[] FIRST_NAMES = {
+        "Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona", "Colleen", "Sonya", "Jena",
+        "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul", "Gloria", "Bradley", "Dai", "Jenette", "Yuri",
+        "Caesar", "Doris", "Angelica", "Gavin", "Jennifer", "Brenden", "Fiona", "Shou", "Michelle", "Suki"
+    };
+    private static final String[] LAST_NAMES = {
+        "Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson", "Hurst", "Frost", "Gaines",
+        "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Byrd", "Little", "Greer", "Rios", "Caldwell", "Berry",
+        "Vance", "Wilder", "Ramos", "Joyce", "Chang", "Wagner", "Green", "Itou", "House", "Burks"
+    };
+    private static final String[] TITLES = {
+        "Accountant",
+        "Chief Executive Officer",
+        "Junior Technical Author",
+        "Senior Javascript Developer",
+        "Integration Specialist",
+        "Sales Assistant",
+        "Regional Director",
+        "Software Engineer",
+        "Office Manager",
+        "Support Lead",
+        "Marketing Designer",
+        "Systems Administrator",
+        "Personnel Lead",
+        "Development Lead"
+    };
+
+    private BenchmarkEmployees() {}
+
+    static List<Employee> generate(int count, long seed) {
+        final var random = new SplittableRandom(seed);
+        final var employees = new ArrayList<Employee>(count);
+        for (int i = 0; i < count; i++) {
+            final var firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            final var lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new Employee(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    firstName + " " + lastName + " " + i,
+                    random.nextInt(30_000, 500_000),
+                    random.nextInt(16, 70),
+                    TITLES[random.nextInt(TITLES.length)],
+                    (firstName.charAt(0) + lastName + i).toLowerCase() + "@company.com"));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Read paths of {@link EmployeeService} over a warm cache, without calling an employee server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int employees;
+
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var salaryIndex = new SalaryIndex();
+        final var nameSearchIndex = new NameSearchIndex();
+        final var client = new FixedEmployeesClient(BenchmarkEmployees.generate(employees, 42));
+        final var cache = new EmployeeSnapshotCache(
+                client,
+                List.of(salaryIndex, nameSearchIndex),
+                EmployeeSnapshotCache.ConsistencyMode.CACHED,
+                Duration.ofDays(1),
+                0,
+                false);
+        employeeService = new EmployeeService(
+                client, cache, salaryIndex, nameSearchIndex, new ServerQueries(client, false, Duration.ofMinutes(5)));
+        employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Employee> searchByName(Search search) {
+        return employeeService.getEmployeesByNameSearch(search.text);
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTenBySalary() {
+        return employeeService.getTopEmployeesBySalary(10);
+    }
+
+    /*
+     * Separate state, so only the search benchmark runs once per search string.
+     */
+    @State(Scope.Benchmark)
+    public static class Search {
+        @Param({"ix", "kel", "fitzpatrick", "absent"})
+        public String text;
+    }
+
+    /*
+     * Serves the full employee list without any I/O.
+     */
+    private static class FixedEmployeesClient extends EmployeeServerAPIClient {
+        private final List<Employee> employees;
+
+        FixedEmployeesClient(List<Employee> employees) {
+            super(
+                    HttpClient.newHttpClient(),
+                    "http://localhost",
+                    new ObjectMapper(),
+                    new UpstreamRateGovernor(10, 1, 10, Duration.ofSeconds(1), 1, Duration.ZERO, Duration.ofSeconds(1)),
+                    new UpstreamCallGuard(
+                            new SimpleMeterRegistry(), 1, 1, 1, Duration.ofSeconds(1), 1, Duration.ofSeconds(1)),
+                    0,
+                    WireFormat.JSON,
+                    false,
+                    new SimpleMeterRegistry());
+            this.employees = employees;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> CompletableFuture<T> get(String uri, TypeReference<T> typeReference) {
+            return CompletableFuture.completedFuture((T) employees);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding of employee server response envelopes, as {@link EmployeeServerAPIClient} does for every response body, in
+ * each {@link WireFormat}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerResponseDecoderBenchmark {
+    private static final TypeReference<List<Employee>> employeeListTypeReference = new TypeReference<>() {};
+    private static final TypeReference<Employee> employeeTypeReference = new TypeReference<>() {};
+
+    @Benchmark
+    public List<Employee> decodeList(EmployeeList list) throws IOException {
+        return list.decoder.decodeData(new ByteArrayInputStream(list.body), employeeListTypeReference);
+    }
+
+    @Benchmark
+    public ServerPage<Employee> decodePage(EmployeeList list) throws IOException {
+        return list.decoder.decodePage(new ByteArrayInputStream(list.pageBody), employeeListTypeReference);
+    }
+
+    @Benchmark
+    public Employee decodeEmployee(SingleEmployee single) throws IOException {
+        return single.decoder.decodeData(new ByteArrayInputStream(single.body), employeeTypeReference);
+    }
+
+    @State(Scope.Benchmark)
+    public static class EmployeeList {
+        @Param({"1", "100", "10000"})
+        public int employees;
+
+        @Param({"JSON", "SMILE", "CBOR"})
+        public String format;
+
+        private ServerResponseDecoder decoder;
+        private byte[] body;
+        private byte[] pageBody;
+
+        @Setup
+        public void setUp() throws IOException {
+            final var objectMapper = WireFormat.valueOf(format).mapper(new ObjectMapper());
+            decoder = new ServerResponseDecoder(objectMapper);
+            final var data = BenchmarkEmployees.generate(employees, 42).stream()
+                    .map(ServerResponseDecoderBenchmark::asServerEmployee)
+                    .toList();
+            body = objectMapper.writeValueAsBytes(Map.of("data", data, "status", "Successfully processed request."));
+            pageBody = objectMapper.writeValueAsBytes(Map.of(
+                    "data",
+                    data,
+                    "nextCursor",
+                    "NDk",
+                    "version",
+                    1729241000050L,
+                    "status",
+                    "Successfully processed request."));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SingleEmployee {
+        @Param({"JSON", "SMILE", "CBOR"})
+        public String format;
+
+        private ServerResponseDecoder decoder;
+        private byte[] body;
+
+        @Setup
+        public void setUp() throws IOException {
+            final var objectMapper = WireFormat.valueOf(format).mapper(new ObjectMapper());
+            decoder = new ServerResponseDecoder(objectMapper);
+            body = objectMapper.writeValueAsBytes(Map.of(
+                    "data",
+                    asServerEmployee(BenchmarkEmployees.generate(1, 42).get(0)),
+                    "status",
+                    "Successfully processed request."));
+        }
+    }
+
+    /*
+     * Field names as the employee server writes them.
+     */
+    private static Map<String, Object> asServerEmployee(Employee employee) {
+        final var fields = new LinkedHashMap<String, Object>();
+        fields.put("id", employee.getId());
+        fields.put("employee_name", employee.getName());
+        fields.put("employee_salary", employee.getSalary());
+        fields.put("employee_age", employee.getAge());
+        fields.put("employee_title", employee.getTitle());
+        fields.put("employee_email", employee.getEmail());
+        return fields;
+    }
+}
@@ -0,0 +1,114 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MockEmployeeService} lookups and writes under contention. The {@code mixed} group runs lookups alongside
+ * writers that each create and then delete their own employee, so the store size stays constant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    public int employees;
+
+    private MockEmployeeService mockEmployeeService;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        final var faker = new Faker(Locale.ENGLISH, new Random(42));
+        final var mockEmployees = new ArrayList<MockEmployee>(employees);
+        for (int i = 0; i < employees; i++) {
+            mockEmployees.add(MockEmployee.from(
+                    "employee" + i + "@company.com",
+                    input(faker.name().fullName(), faker.job().title())));
+        }
+        ids = mockEmployees.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+        mockEmployeeService =
+                new MockEmployeeService(faker, new MockEmployeeStore(mockEmployees, 10_000, Optional.empty()));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public Optional<MockEmployee> mixedFindById() {
+        return mockEmployeeService.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public boolean mixedCreateDelete(Writer writer) {
+        mockEmployeeService.create(writer.input);
+        return mockEmployeeService.delete(writer.deleteInput);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean createDelete(Writer writer) {
+        mockEmployeeService.create(writer.input);
+        return mockEmployeeService.delete(writer.deleteInput);
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private static final AtomicInteger writers = new AtomicInteger();
+
+        private CreateMockEmployeeInput input;
+        private DeleteMockEmployeeInput deleteInput;
+
+        @Setup
+        public void setUp() {
+            final var name = "Benchmark Writer " + writers.incrementAndGet();
+            input = input(name, "Benchmark");
+            deleteInput = new DeleteMockEmployeeInput();
+            deleteInput.setName(name);
+        }
+    }
+
+    private static CreateMockEmployeeInput input(String name, String title) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(ThreadLocalRandom.current().nextInt(30_000, 500_000));
+        input.setAge(ThreadLocalRandom.current().nextInt(16, 70));
+        input.setTitle(title);
+        return input;
+    }
+}
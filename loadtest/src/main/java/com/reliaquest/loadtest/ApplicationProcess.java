@@ -0,0 +1,108 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A Spring Boot jar running in a child JVM, with its output written to a log file.
+ */
+@Slf4j
+public class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+
+    private final String name;
+    private final Process process;
+    private final Path logFile;
+
+    private ApplicationProcess(String name, Process process, Path logFile) {
+        this.name = name;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    /**
+     * Starts {@code jar} and waits until {@code readinessUrl} answers with any HTTP response.
+     */
+    public static ApplicationProcess start(
+            String name, Path jar, List<String> args, Path logDirectory, URI readinessUrl, Duration timeout)
+            throws IOException, InterruptedException {
+        final var httpClient = HttpClient.newHttpClient();
+        if (isServing(httpClient, readinessUrl)) {
+            throw new IllegalStateException(
+                    "Something is already serving %s; stop it or set loadtest.boot-applications=false"
+                            .formatted(readinessUrl));
+        }
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("%s jar not found at %s; build it with bootJar".formatted(name, jar));
+        }
+
+        final var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(args);
+        final var logFile = Files.createDirectories(logDirectory).resolve(name + ".log");
+        log.info("Starting {}: {}", name, String.join(" ", command));
+        final var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        final var application = new ApplicationProcess(name, process, logFile);
+
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        while (!isServing(httpClient, readinessUrl)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(
+                        "%s exited with %d during startup, see %s".formatted(name, process.exitValue(), logFile));
+            }
+            if (System.nanoTime() > deadline) {
+                application.close();
+                throw new IllegalStateException("%s did not start within %s, see %s".formatted(name, timeout, logFile));
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        log.info("{} is up, logging to {}", name, logFile);
+        return application;
+    }
+
+    @Override
+    public void close() {
+        if (!process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        log.info("Stopped {}", name);
+    }
+
+    private static boolean isServing(HttpClient httpClient, URI url) throws IOException, InterruptedException {
+        try {
+            httpClient.send(
+                    HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (ConnectException | HttpTimeoutException e) {
+            return false;
+        }
+    }
+}
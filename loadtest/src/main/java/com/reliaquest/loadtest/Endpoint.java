@@ -0,0 +1,35 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The {@code IEmployeeController} endpoints, keyed by their controller method names.
+ */
+public enum Endpoint {
+    GET_ALL_EMPLOYEES("getAllEmployees"),
+    SEARCH_BY_NAME("searchByName"),
+    GET_EMPLOYEE_BY_ID("getEmployeeById"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_TEN_HIGHEST_EARNING_EMPLOYEE_NAMES("topTenHighestEarningEmployeeNames"),
+    CREATE_EMPLOYEE("createEmployee"),
+    DELETE_EMPLOYEE_BY_ID("deleteEmployeeById");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Endpoint fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equalsIgnoreCase(key.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint %s, expected one of %s"
+                        .formatted(
+                                key, Arrays.stream(values()).map(Endpoint::key).toList())));
+    }
+}
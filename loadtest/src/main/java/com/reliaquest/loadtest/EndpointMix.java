@@ -0,0 +1,66 @@
+package com.reliaquest.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted choice of endpoints, parsed from {@code endpoint=weight} pairs separated by commas.
+ */
+public class EndpointMix {
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    private EndpointMix(Map<Endpoint, Integer> weights) {
+        this.endpoints = weights.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += weights.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Endpoint mix needs a positive weight");
+        }
+    }
+
+    public static EndpointMix parse(String mix) {
+        final var weights = new EnumMap<Endpoint, Integer>(Endpoint.class);
+        for (final var pair : mix.split(",")) {
+            final var parts = pair.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight, got " + pair);
+            }
+            final int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.merge(Endpoint.fromKey(parts[0]), weight, Integer::sum);
+        }
+        return new EndpointMix(weights);
+    }
+
+    public Endpoint next() {
+        final int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    @Override
+    public String toString() {
+        final var description = new StringBuilder();
+        for (int i = 0; i < endpoints.length; i++) {
+            description
+                    .append(i == 0 ? "" : ", ")
+                    .append(endpoints[i].key())
+                    .append('=')
+                    .append(cumulativeWeights[i] - (i == 0 ? 0 : cumulativeWeights[i - 1]));
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms in microseconds and response status counts, per endpoint. Latencies are measured from when each
+ * request was scheduled to be sent, not from when it was, so a stalled system is charged for the requests that queued
+ * behind the stall.
+ */
+public class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Map<String, LongAdder>> outcomes = new EnumMap<>(Endpoint.class);
+    private final LongAdder skipped = new LongAdder();
+
+    public LatencyReport() {
+        for (final var endpoint : Endpoint.values()) {
+            histograms.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            outcomes.put(endpoint, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * @param outcome the HTTP status, or the exception name when no response arrived
+     */
+    public void record(Endpoint endpoint, long latencyNanos, String outcome) {
+        histograms
+                .get(endpoint)
+                .recordValue(
+                        Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos))));
+        outcomes.get(endpoint)
+                .computeIfAbsent(outcome, ignored -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * Counts a request that was due but not sent because too many were in flight.
+     */
+    public void recordSkipped() {
+        skipped.increment();
+    }
+
+    public void print(PrintStream out, Duration elapsed, double targetRate) {
+        final double seconds = elapsed.toNanos() / 1e9;
+        final var total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        out.printf(
+                "%n%-36s %9s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "statuses");
+        for (final var endpoint : Endpoint.values()) {
+            final var histogram = histograms.get(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            printRow(out, endpoint.key(), histogram, seconds, outcomes.get(endpoint));
+        }
+        final var allOutcomes = new TreeMap<String, LongAdder>();
+        outcomes.values()
+                .forEach(byOutcome -> byOutcome.forEach((outcome, count) -> allOutcomes
+                        .computeIfAbsent(outcome, ignored -> new LongAdder())
+                        .add(count.sum())));
+        printRow(out, "all", total, seconds, allOutcomes);
+        out.printf(
+                "%ntarget %.1f req/s, achieved %.1f req/s over %s, %d requests skipped at the in-flight limit%n",
+                targetRate, total.getTotalCount() / seconds, elapsed, skipped.sum());
+        out.printf("%nLatency distribution of all requests (ms):%n");
+        total.outputPercentileDistribution(out, 5, MICROS_PER_MILLI);
+    }
+
+    private static void printRow(
+            PrintStream out, String name, Histogram histogram, double seconds, Map<String, LongAdder> outcomes) {
+        final long errors = outcomes.entrySet().stream()
+                .filter(entry -> !entry.getKey().startsWith("2"))
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+        final var statuses = new TreeMap<String, Long>();
+        outcomes.forEach((outcome, count) -> statuses.put(outcome, count.sum()));
+        out.printf(
+                "%-36s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9d  %s%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI,
+                errors,
+                statuses);
+    }
+}
@@ -0,0 +1,170 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Boots the mock server and the api, unless {@code loadtest.boot-applications} is false, then drives the api with the
+ * configured endpoint mix and prints the latency report.
+ */
+@Slf4j
+@Component
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final int MAX_PREPARE_ATTEMPTS = 10;
+
+    private final ObjectMapper objectMapper;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final EndpointMix mix;
+    private final boolean bootApplications;
+    private final Duration startupTimeout;
+    private final Path logDirectory;
+    private final URI serverUrl;
+    private final Path serverJar;
+    private final List<String> serverArgs;
+    private final URI apiUrl;
+    private final Path apiJar;
+    private final List<String> apiArgs;
+
+    public LoadTestRunner(
+            ObjectMapper objectMapper,
+            @Value("${loadtest.rate}") double rate,
+            @Value("${loadtest.warmup}") Duration warmup,
+            @Value("${loadtest.duration}") Duration duration,
+            @Value("${loadtest.max-in-flight}") int maxInFlight,
+            @Value("${loadtest.request-timeout}") Duration requestTimeout,
+            @Value("${loadtest.mix}") String mix,
+            @Value("${loadtest.boot-applications}") boolean bootApplications,
+            @Value("${loadtest.startup-timeout}") Duration startupTimeout,
+            @Value("${loadtest.log-dir:build/loadtest}") Path logDirectory,
+            @Value("${loadtest.server.url}") URI serverUrl,
+            @Value("${loadtest.server.jar:server/build/libs/server-1.0.0.jar}") Path serverJar,
+            @Value("${loadtest.server.employees}") int serverEmployees,
+            @Value("${loadtest.server.seed}") long serverSeed,
+            @Value("${loadtest.server.rate-limit-algorithm}") String serverRateLimitAlgorithm,
+            @Value("${loadtest.server.args}") String serverArgs,
+            @Value("${loadtest.api.url}") URI apiUrl,
+            @Value("${loadtest.api.jar:api/build/libs/api-1.0.0.jar}") Path apiJar,
+            @Value("${loadtest.api.virtual-threads}") boolean apiVirtualThreads,
+            @Value("${loadtest.api.execution-mode}") String apiExecutionMode,
+            @Value("${loadtest.api.args}") String apiArgs) {
+        this.objectMapper = objectMapper;
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.mix = EndpointMix.parse(mix);
+        this.bootApplications = bootApplications;
+        this.startupTimeout = startupTimeout;
+        this.logDirectory = logDirectory;
+        this.serverUrl = serverUrl;
+        this.serverJar = serverJar;
+        this.serverArgs = withExtraArgs(
+                serverArgs,
+                "--server.port=" + serverUrl.getPort(),
+                "--mock.employees.max=" + serverEmployees,
+                "--mock.employees.seed=" + serverSeed,
+                "--mock.rate-limit.algorithm=" + serverRateLimitAlgorithm);
+        this.apiUrl = apiUrl;
+        this.apiJar = apiJar;
+        this.apiArgs = withExtraArgs(
+                apiArgs,
+                "--server.port=" + apiUrl.getPort(),
+                "--urls.employee_server_base_url=" + serverUrl,
+                "--spring.threads.virtual.enabled=" + apiVirtualThreads,
+                "--employee.execution.mode=" + apiExecutionMode);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        final Deque<ApplicationProcess> applications = new ArrayDeque<>();
+        try {
+            if (bootApplications) {
+                applications.push(ApplicationProcess.start(
+                        "server",
+                        serverJar,
+                        serverArgs,
+                        logDirectory,
+                        serverUrl.resolve("/api/v1/employee?limit=1"),
+                        startupTimeout));
+                applications.push(ApplicationProcess.start(
+                        "api", apiJar, apiArgs, logDirectory, apiUrl.resolve("/actuator/health"), startupTimeout));
+            }
+
+            final var httpClient = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            final var workload = new Workload(
+                    apiUrl.toString().replaceAll("/$", ""), objectMapper, fetchEmployees(httpClient), requestTimeout);
+            log.info(
+                    "Driving {} at {} requests/s for {} after {} warmup, at most {} in flight, over {} employees: {}",
+                    apiUrl,
+                    rate,
+                    duration,
+                    warmup,
+                    maxInFlight,
+                    workload.size(),
+                    mix);
+            if (bootApplications) {
+                log.info("Server: {}", String.join(" ", serverArgs));
+                log.info("Api: {}", String.join(" ", apiArgs));
+            }
+
+            final var report =
+                    new OpenLoopLoadGenerator(httpClient, workload, mix, rate, maxInFlight).run(warmup, duration);
+            report.print(System.out, duration, rate);
+        } finally {
+            applications.forEach(ApplicationProcess::close);
+        }
+    }
+
+    /*
+     * The api may still be rate limited or warming its cache, so the initial read is retried.
+     */
+    private JsonNode fetchEmployees(HttpClient httpClient) throws IOException, InterruptedException {
+        final var request =
+                HttpRequest.newBuilder(apiUrl).timeout(requestTimeout).build();
+        for (int attempt = 1; ; attempt++) {
+            final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 200) {
+                return objectMapper.readTree(response.body());
+            }
+            if (attempt == MAX_PREPARE_ATTEMPTS) {
+                throw new IllegalStateException(
+                        "Could not read employees from the api, last status %d".formatted(response.statusCode()));
+            }
+            log.warn("Reading employees from the api returned {}, retrying", response.statusCode());
+            Thread.sleep(Duration.ofSeconds(1).toMillis());
+        }
+    }
+
+    private static List<String> withExtraArgs(String extraArgs, String... args) {
+        final var all = new ArrayList<>(Arrays.asList(args));
+        Arrays.stream(extraArgs.trim().split("\\s+"))
+                .filter(arg -> !arg.isEmpty())
+                .forEach(all::add);
+        return all;
+    }
+}
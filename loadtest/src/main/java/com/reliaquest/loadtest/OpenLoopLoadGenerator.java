@@ -0,0 +1,111 @@
+package com.reliaquest.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends requests at a fixed rate regardless of how fast responses come back (an open loop), the way independent users
+ * arrive. Each request has an intended send time on the schedule; if the generator falls behind, late requests are
+ * sent immediately and still measured from their intended time, which avoids coordinated omission. Requests due while
+ * {@code maxInFlight} requests are outstanding are skipped and counted, so an overloaded system cannot exhaust the
+ * generator.
+ */
+@Slf4j
+public class OpenLoopLoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final Workload workload;
+    private final EndpointMix mix;
+    private final double rate;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public OpenLoopLoadGenerator(
+            HttpClient httpClient, Workload workload, EndpointMix mix, double rate, int maxInFlight) {
+        if (rate <= 0 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Rate and max in-flight requests must be positive");
+        }
+        this.httpClient = httpClient;
+        this.workload = workload;
+        this.mix = mix;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Runs the warmup and then the measured duration, returning only what was scheduled during the latter.
+     */
+    public LatencyReport run(Duration warmup, Duration duration) throws InterruptedException {
+        final var warmupReport = new LatencyReport();
+        final var report = new LatencyReport();
+        final long startNanos = System.nanoTime();
+        final long measureFromNanos = startNanos + warmup.toNanos();
+        final long endNanos = measureFromNanos + duration.toNanos();
+        log.info("Warming up for {}", warmup);
+
+        boolean measuring = false;
+        for (long i = 0; ; i++) {
+            /* Computed from the start rather than accumulated, so rounding does not drift the rate. */
+            final long intendedNanos = startNanos + (long) (i * 1e9 / rate);
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+            final long waitNanos = intendedNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            if (!measuring && intendedNanos >= measureFromNanos) {
+                measuring = true;
+                log.info("Measuring for {}", duration);
+            }
+
+            final var target = measuring ? report : warmupReport;
+            if (inFlight.get() >= maxInFlight) {
+                target.recordSkipped();
+                continue;
+            }
+            send(workload.next(mix.next()), intendedNanos, target);
+        }
+
+        drain();
+        return report;
+    }
+
+    private void send(Workload.Request request, long intendedNanos, LatencyReport target) {
+        inFlight.incrementAndGet();
+        httpClient
+                .sendAsync(request.httpRequest(), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    final long latencyNanos = System.nanoTime() - intendedNanos;
+                    inFlight.decrementAndGet();
+                    if (failure != null) {
+                        final var cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                        target.record(
+                                request.endpoint(),
+                                latencyNanos,
+                                cause.getClass().getSimpleName());
+                        return;
+                    }
+                    workload.onResponse(request.endpoint(), response.statusCode(), response.body());
+                    target.record(request.endpoint(), latencyNanos, Integer.toString(response.statusCode()));
+                });
+    }
+
+    private void drain() throws InterruptedException {
+        final long deadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests still in flight after {}, reporting without them", inFlight.get(), DRAIN_TIMEOUT);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Builds requests for each endpoint from the employees the api served before the run. Deletes target employees created
+ * during the run, so the initial employees stay available for lookups; while none is left to delete, a create is sent
+ * instead.
+ */
+public class Workload {
+
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final int MAX_SEARCH_LENGTH = 6;
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final List<String> ids;
+    private final List<String> names;
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final AtomicLong created = new AtomicLong();
+    private final Duration requestTimeout;
+
+    public Workload(String baseUrl, ObjectMapper objectMapper, JsonNode employees, Duration requestTimeout) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.requestTimeout = requestTimeout;
+        this.ids = new ArrayList<>();
+        this.names = new ArrayList<>();
+        for (final var employee : employees) {
+            ids.add(employee.path("id").asText());
+            names.add(employee.path("name").asText());
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The api served no employees to build requests from");
+        }
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    public Request next(Endpoint endpoint) {
+        final var random = ThreadLocalRandom.current();
+        return switch (endpoint) {
+            case GET_ALL_EMPLOYEES -> get(endpoint, "");
+            case SEARCH_BY_NAME -> get(endpoint, "/search/" + encode(searchString(random)));
+            case GET_EMPLOYEE_BY_ID -> get(endpoint, "/" + ids.get(random.nextInt(ids.size())));
+            case HIGHEST_SALARY -> get(endpoint, "/highestSalary");
+            case TOP_TEN_HIGHEST_EARNING_EMPLOYEE_NAMES -> get(endpoint, "/topTenHighestEarningEmployeeNames");
+            case CREATE_EMPLOYEE -> create();
+            case DELETE_EMPLOYEE_BY_ID -> {
+                final var id = createdIds.poll();
+                yield id == null
+                        ? create()
+                        : new Request(
+                                endpoint,
+                                HttpRequest.newBuilder(URI.create(baseUrl + "/" + id))
+                                        .timeout(requestTimeout)
+                                        .DELETE()
+                                        .build());
+            }
+        };
+    }
+
+    /**
+     * Remembers the employees created by successful creates, for later deletes.
+     */
+    public void onResponse(Endpoint endpoint, int status, byte[] body) {
+        if (endpoint != Endpoint.CREATE_EMPLOYEE || status / 100 != 2) {
+            return;
+        }
+        try {
+            final var id = objectMapper.readTree(body).path("id").asText(null);
+            if (id != null) {
+                createdIds.add(id);
+            }
+        } catch (IOException ignored) {
+            // Counted by its status; only the id is lost
+        }
+    }
+
+    private Request get(Endpoint endpoint, String path) {
+        return new Request(
+                endpoint,
+                HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .timeout(requestTimeout)
+                        .GET()
+                        .build());
+    }
+
+    private Request create() {
+        final long n = created.incrementAndGet();
+        final var random = ThreadLocalRandom.current();
+        final var body =
+                """
+                {"name":"Load Test %d","salary":%d,"age":%d,"title":"Load Tester","email":"loadtest%d@company.com"}"""
+                        .formatted(n, random.nextInt(30_000, 500_000), random.nextInt(16, 70), n);
+        return new Request(
+                Endpoint.CREATE_EMPLOYEE,
+                HttpRequest.newBuilder(URI.create(baseUrl))
+                        .timeout(requestTimeout)
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .header("Content-Type", "application/json")
+                        .build());
+    }
+
+    private String searchString(ThreadLocalRandom random) {
+        final var name = names.get(random.nextInt(names.size())).toLowerCase();
+        if (name.length() <= MIN_SEARCH_LENGTH) {
+            return name;
+        }
+        final int length = random.nextInt(MIN_SEARCH_LENGTH, Math.min(MAX_SEARCH_LENGTH, name.length()) + 1);
+        final int start = random.nextInt(name.length() - length + 1);
+        return name.substring(start, start + length);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    public record Request(Endpoint endpoint, HttpRequest httpRequest) {}
+}
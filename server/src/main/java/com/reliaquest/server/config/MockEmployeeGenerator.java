@@ -0,0 +1,85 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import net.datafaker.Faker;
+
+/**
+ * Generates mock employees in parallel and deterministically: the same seed and count always produce the same
+ * employees, in the same order.
+ * <p>
+ * Faker is only used up front, seeded, to fill pools of first names, last names, titles and email addresses. The
+ * employees are then generated in contiguous partitions of {@value #PARTITION_SIZE}, one per task, each drawing from
+ * the pools with its own random generator derived from the seed and its index. The partitions depend only on the
+ * count, so the result is the same however many cores generate them and however their tasks are scheduled.
+ */
+final class MockEmployeeGenerator {
+
+    private static final int POOL_SIZE = 2_048;
+    private static final int PARTITION_SIZE = 10_000;
+    private static final long UUID_VERSION_MASK = 0xFFFFFFFFFFFF0FFFL;
+    private static final long UUID_VERSION_4 = 0x0000000000004000L;
+    private static final long UUID_VARIANT_MASK = 0x3FFFFFFFFFFFFFFFL;
+    private static final long UUID_VARIANT_IETF = 0x8000000000000000L;
+
+    private final long seed;
+    private final List<String> firstNames;
+    private final List<String> lastNames;
+    private final List<String> titles;
+    private final List<String> emails;
+
+    MockEmployeeGenerator(long seed, Locale locale) {
+        this.seed = seed;
+        final var faker = new Faker(locale, new Random(seed));
+        this.firstNames = pool(() -> faker.name().firstName());
+        this.lastNames = pool(() -> faker.name().lastName());
+        this.titles = pool(() -> faker.job().title());
+        this.emails = pool(() -> ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                faker.twitter().userName().toLowerCase()));
+    }
+
+    List<MockEmployee> generate(int count) {
+        final int partitions = Math.max(1, (count + PARTITION_SIZE - 1) / PARTITION_SIZE);
+        final var mockEmployees = new ArrayList<MockEmployee>(count);
+        IntStream.range(0, partitions)
+                .parallel()
+                .mapToObj(partition -> generate(
+                        partition, partition * PARTITION_SIZE, Math.min(count, (partition + 1) * PARTITION_SIZE)))
+                .forEachOrdered(mockEmployees::addAll);
+        return mockEmployees;
+    }
+
+    private List<MockEmployee> generate(int partition, int from, int to) {
+        final var random = new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (partition + 1)));
+        final var mockEmployees = new ArrayList<MockEmployee>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            mockEmployees.add(MockEmployee.builder()
+                    .id(new UUID(
+                            random.nextLong() & UUID_VERSION_MASK | UUID_VERSION_4,
+                            random.nextLong() & UUID_VARIANT_MASK | UUID_VARIANT_IETF))
+                    .name(pick(firstNames, random) + " " + pick(lastNames, random))
+                    .salary(random.nextInt(30000, 500000))
+                    .age(random.nextInt(16, 70))
+                    .title(pick(titles, random))
+                    .email(pick(emails, random))
+                    .build());
+        }
+        return mockEmployees;
+    }
+
+    private static List<String> pool(Supplier<String> values) {
+        return Stream.generate(values).limit(POOL_SIZE).toList();
+    }
+
+    private static String pick(List<String> pool, SplittableRandom random) {
+        return pool.get(random.nextInt(pool.size()));
+    }
+}
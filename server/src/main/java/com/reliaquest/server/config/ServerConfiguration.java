@@ -1,59 +1,62 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.web.RateLimitInterceptor;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    /* Absent when mock.rate-limit.algorithm is DISABLED. */
+    private final ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Initial employees, loaded into the MockEmployeeStore which serves CRUD operations. Lazy, so they are not
+     * generated when the store restores persisted employees instead.
      */
+    @Lazy
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public List<MockEmployee> mockEmployees(
+            @Value("${mock.employees.max:20}") int maxEmployees, @Value("${mock.employees.seed:#{null}}") Long seed) {
+        /* A random seed still gets logged, so an interesting dataset can be generated again. */
+        final long effectiveSeed = seed != null ? seed : new Random().nextLong();
+        final long startNanos = System.nanoTime();
+        final var mockEmployees = new MockEmployeeGenerator(effectiveSeed, Locale.getDefault()).generate(maxEmployees);
+        mockEmployees.forEach(mockEmployee -> log.trace("Created employee: {}", mockEmployee));
+        log.info(
+                "Generated {} employees with seed {} in {} ms",
+                mockEmployees.size(),
+                effectiveSeed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return mockEmployees;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        /* Scrapes must not use up, or be refused by, the limit meant for API clients. */
+        rateLimitInterceptor.ifAvailable(
+                interceptor -> registry.addInterceptor(interceptor).excludePathPatterns("/actuator/**"));
     }
 }
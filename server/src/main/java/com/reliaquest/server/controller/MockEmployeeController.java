@@ -1,41 +1,159 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeBatchItem;
+import com.reliaquest.server.model.MockEmployeeChanges;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /* The formats employees can be streamed in, in order of preference when the client accepts several equally. */
+    private static final Map<MediaType, Function<ObjectMapper, ObjectMapper>> STREAM_FORMATS = streamFormats();
+
     private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final Map<MediaType, ObjectMapper> streamMappers = new ConcurrentHashMap<>();
 
+    /*
+     * The list and single employee responses carry the store version as their ETag, so a matching If-None-Match is
+     * answered with 304 Not Modified. The ETag is weak, since the bytes differ by format and compression; Tomcat
+     * does not compress responses with a strong ETag.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees() {
+        final var snapshot = mockEmployeeService.getMockEmployeeSnapshot();
+        return ResponseEntity.ok()
+                .eTag(eTag(snapshot.version()))
+                .body(Response.handledWith(snapshot.employees(), null, snapshot.version()));
+    }
+
+    @GetMapping(params = "limit")
+    public Response<List<MockEmployee>> getEmployeePage(
+            @RequestParam("limit") int limit, @RequestParam(name = "cursor", required = false) String cursor) {
+        final var page = mockEmployeeService.getMockEmployeePage(cursor, limit);
+        return Response.handledWith(page.employees(), page.nextCursor(), page.version());
+    }
+
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getEmployeeChanges(@RequestParam("since") long since) {
+        return Response.handledWith(mockEmployeeService.getChangesSince(since));
+    }
+
+    /*
+     * Writes each employee to the response as it is read from the store instead of serializing a complete list, in
+     * JSON, Smile or CBOR as the Accept header asks. A limit asks for a page, which is not streamed.
+     */
+    @GetMapping(
+            params = {"stream=true", "!limit"},
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamEmployees(
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept) {
+        final var mediaType = streamMediaType(accept);
+        final var mapper = streamMappers.computeIfAbsent(
+                mediaType, type -> STREAM_FORMATS.get(type).apply(objectMapper));
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = mapper.createGenerator(outputStream)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("data");
+                for (MockEmployee mockEmployee : mockEmployeeService.streamMockEmployees()) {
+                    generator.writeObject(mockEmployee);
+                }
+                generator.writeEndArray();
+                generator.writeObjectField("status", Response.Status.HANDLED);
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    private static MediaType streamMediaType(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        return MediaType.parseMediaTypes(accept).stream()
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .filter(accepted -> accepted.getQualityValue() > 0)
+                .flatMap(accepted -> STREAM_FORMATS.keySet().stream().filter(accepted::includes))
+                .findFirst()
+                .orElse(MediaType.APPLICATION_JSON);
+    }
+
+    private static Map<MediaType, Function<ObjectMapper, ObjectMapper>> streamFormats() {
+        final var formats = new LinkedHashMap<MediaType, Function<ObjectMapper, ObjectMapper>>();
+        formats.put(MediaType.APPLICATION_JSON, Function.identity());
+        formats.put(MediaType.parseMediaType(APPLICATION_SMILE_VALUE), mapper -> mapper.copyWith(new SmileFactory()));
+        formats.put(MediaType.APPLICATION_CBOR, mapper -> mapper.copyWith(new CBORFactory()));
+        return formats;
+    }
+
+    @GetMapping("/capabilities")
+    public Response<List<String>> getCapabilities() {
+        return Response.handledWith(MockEmployeeService.CAPABILITIES);
+    }
+
+    @GetMapping("/search")
+    public Response<List<MockEmployee>> searchEmployees(@RequestParam("name") String name) {
+        return Response.handledWith(mockEmployeeService.searchByName(name));
+    }
+
+    /*
+     * No data when there are no employees with a salary.
+     */
+    @GetMapping("/salary/max")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.getHighestSalary().orElse(null));
+    }
+
+    @GetMapping("/salary/top")
+    public Response<List<MockEmployee>> getTopEmployeesBySalary(@RequestParam("limit") int limit) {
+        return Response.handledWith(mockEmployeeService.getTopBySalary(limit));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+        final var version = mockEmployeeService.getVersion();
         return mockEmployeeService
                 .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .map(employee -> ResponseEntity.ok().eTag(eTag(version)).body(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
@@ -48,4 +166,54 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Batch endpoints validate every item on its own: invalid items are reported in place and the rest are applied.
+     */
+    @PostMapping("/batch")
+    public Response<List<MockEmployeeBatchItem>> createEmployees(@RequestBody List<CreateMockEmployeeInput> inputs) {
+        return Response.handledWith(applyValid(inputs, valid -> mockEmployeeService.createAll(valid).stream()
+                .map(MockEmployeeBatchItem::created)
+                .toList()));
+    }
+
+    @DeleteMapping("/batch")
+    public Response<List<MockEmployeeBatchItem>> deleteEmployees(@RequestBody List<DeleteMockEmployeeInput> inputs) {
+        return Response.handledWith(applyValid(inputs, valid -> mockEmployeeService.deleteAll(valid).stream()
+                .map(removed -> removed.map(MockEmployeeBatchItem::deleted).orElseGet(MockEmployeeBatchItem::notFound))
+                .toList()));
+    }
+
+    private <T> List<MockEmployeeBatchItem> applyValid(
+            List<T> inputs, Function<List<T>, List<MockEmployeeBatchItem>> apply) {
+        MockEmployeeService.checkBatchSize(inputs.size());
+        final var items = new ArrayList<MockEmployeeBatchItem>(inputs.size());
+        final var valid = new ArrayList<T>(inputs.size());
+        for (final var input : inputs) {
+            if (input == null) {
+                items.add(MockEmployeeBatchItem.invalid("item is required"));
+                continue;
+            }
+
+            final var violations = validator.validate(input);
+            if (violations.isEmpty()) {
+                /* Filled in with the result of applying it. */
+                items.add(null);
+                valid.add(input);
+            } else {
+                items.add(MockEmployeeBatchItem.invalid(violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "))));
+            }
+        }
+
+        final var applied = apply.apply(valid).iterator();
+        items.replaceAll(item -> item != null ? item : applied.next());
+        return items;
+    }
+
+    private static String eTag(long version) {
+        return "W/\"v%d\"".formatted(version);
+    }
 }
@@ -1,11 +1,25 @@
 package com.reliaquest.server.model;
 
-import jakarta.validation.constraints.NotBlank;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import java.util.Objects;
+import java.util.UUID;
 import lombok.Data;
+import org.springframework.util.StringUtils;
 
+/*
+ * Deletes the employee with the given id or, without one, the earliest added employee with the given name.
+ */
 @Data
 public class DeleteMockEmployeeInput {
 
-    @NotBlank
     private String name;
+
+    private UUID id;
+
+    @JsonIgnore
+    @AssertTrue(message = "is required")
+    public boolean isNameOrId() {
+        return Objects.nonNull(id) || StringUtils.hasText(name);
+    }
 }
@@ -0,0 +1,33 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of one item of a batch request, in the position of its input.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeBatchItem(Outcome outcome, MockEmployee employee, String error) {
+
+    public static MockEmployeeBatchItem created(MockEmployee mockEmployee) {
+        return new MockEmployeeBatchItem(Outcome.CREATED, mockEmployee, null);
+    }
+
+    public static MockEmployeeBatchItem deleted(MockEmployee mockEmployee) {
+        return new MockEmployeeBatchItem(Outcome.DELETED, mockEmployee, null);
+    }
+
+    public static MockEmployeeBatchItem notFound() {
+        return new MockEmployeeBatchItem(Outcome.NOT_FOUND, null, null);
+    }
+
+    public static MockEmployeeBatchItem invalid(String error) {
+        return new MockEmployeeBatchItem(Outcome.INVALID, null, error);
+    }
+
+    public enum Outcome {
+        CREATED,
+        DELETED,
+        NOT_FOUND,
+        INVALID
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+/**
+ * A create or delete applied to the mock employee store, with the store version it produced.
+ */
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes made after a given store version, oldest first. When {@code resyncRequired} is set the changes are no longer
+ * available and the full employee list has to be read again.
+ */
+public record MockEmployeeChanges(long version, boolean resyncRequired, List<MockEmployeeChange> changes) {
+
+    public static MockEmployeeChanges of(long version, List<MockEmployeeChange> changes) {
+        return new MockEmployeeChanges(version, false, changes);
+    }
+
+    public static MockEmployeeChanges resyncRequired(long version) {
+        return new MockEmployeeChanges(version, true, List.of());
+    }
+}
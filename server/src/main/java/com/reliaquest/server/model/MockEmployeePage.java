@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * @param nextCursor opaque cursor of the following page, or null if this is the last page
+ * @param version store version the page reflects at least
+ */
+public record MockEmployeePage(List<MockEmployee> employees, String nextCursor, long version) {}
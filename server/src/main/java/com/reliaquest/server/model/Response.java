@@ -5,18 +5,22 @@ import com.fasterxml.jackson.annotation.JsonValue;
 import lombok.Getter;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
-public record Response<T>(T data, Status status, String error) {
+public record Response<T>(T data, String nextCursor, Long version, Status status, String error) {
 
     public static <T> Response<T> handled() {
-        return new Response<>(null, Status.HANDLED, null);
+        return new Response<>(null, null, null, Status.HANDLED, null);
     }
 
     public static <T> Response<T> handledWith(T data) {
-        return new Response<>(data, Status.HANDLED, null);
+        return new Response<>(data, null, null, Status.HANDLED, null);
+    }
+
+    public static <T> Response<T> handledWith(T data, String nextCursor, Long version) {
+        return new Response<>(data, nextCursor, version, Status.HANDLED, null);
     }
 
     public static <T> Response<T> error(String error) {
-        return new Response<>(null, Status.ERROR, error);
+        return new Response<>(null, null, null, Status.ERROR, error);
     }
 
     public enum Status {
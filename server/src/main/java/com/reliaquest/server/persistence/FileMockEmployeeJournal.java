@@ -0,0 +1,431 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeJournal;
+import com.reliaquest.server.service.MockEmployeeStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists the mock employees to a directory as compact binary snapshots plus an append-only journal of the changes
+ * made since.
+ * <p>
+ * Appends are queued and written by a single flusher thread, which drains everything queued while the previous fsync
+ * was running and makes the whole batch durable with one fsync (group commit). Journal records are length-prefixed and
+ * checksummed, so a record torn by a crash is detected and cut off on the next start.
+ * <p>
+ * Snapshots are written periodically from a consistent view of the store, to a temporary file that is atomically
+ * renamed once synced. After each snapshot the journal rolls over to a new segment and segments that only hold changes
+ * already covered by the snapshot are deleted. On start the latest snapshot is memory-mapped and decoded, then the
+ * journal tail is replayed, so restoring does not regenerate the employees and only replays recent writes.
+ * <p>
+ * Each group commit is timed as {@code mock.employees.journal.sync} and its record count recorded as
+ * {@code mock.employees.journal.batch.size}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mock.employees.persistence.enabled", havingValue = "true")
+public class FileMockEmployeeJournal implements MockEmployeeJournal, DisposableBean {
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final int SNAPSHOT_MAGIC = 0x4D4B4553;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int MAX_BATCH_SIZE = 4096;
+    private static final int RETAINED_SEGMENTS = 2;
+
+    private final Path directory;
+    private final Duration snapshotInterval;
+    private final BlockingQueue<Object> pending = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService snapshotScheduler =
+            Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "mock-employee-snapshot"));
+    private final Thread flusher = daemon(this::flushPending, "mock-employee-journal");
+    private final Timer syncTimer;
+    private final DistributionSummary batchSize;
+
+    /* Written by the flusher thread only, once started. */
+    private FileChannel segment;
+    private volatile boolean running;
+    private long restoredVersion = -1;
+    private long lastSnapshotVersion = -1;
+
+    public FileMockEmployeeJournal(
+            @Value("${mock.employees.persistence.directory:data}") Path directory,
+            @Value("${mock.employees.persistence.snapshot-interval:5m}") Duration snapshotInterval,
+            MeterRegistry meterRegistry)
+            throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.snapshotInterval = snapshotInterval;
+        this.syncTimer = Timer.builder("mock.employees.journal.sync")
+                .description("Time to write and fsync a batch of journal records")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("mock.employees.journal.batch.size")
+                .description("Journal records made durable by one fsync")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<MockEmployeeStore.Snapshot> restore() {
+        try {
+            final var snapshotFile = latest(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (snapshotFile.isEmpty()) {
+                return Optional.empty();
+            }
+
+            final long startNanos = System.nanoTime();
+            final var employees = new LinkedHashMap<UUID, MockEmployee>();
+            long version = readSnapshot(snapshotFile.get(), employees);
+            lastSnapshotVersion = version;
+            int replayed = 0;
+            for (final var journalFile : list(JOURNAL_PREFIX, JOURNAL_SUFFIX)) {
+                for (final var change : readJournal(journalFile)) {
+                    if (change.version() <= version) {
+                        continue;
+                    }
+                    /* Re-adding an employee moves it to the end, as it does in the store. */
+                    employees.remove(change.employee().getId());
+                    if (change.type() == MockEmployeeChange.Type.CREATED) {
+                        employees.put(change.employee().getId(), change.employee());
+                    }
+                    version = change.version();
+                    replayed++;
+                }
+            }
+            restoredVersion = version;
+            log.info(
+                    "Restored {} employees at version {} from {} and {} journaled changes in {} ms",
+                    employees.size(),
+                    version,
+                    snapshotFile.get().getFileName(),
+                    replayed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            return Optional.of(new MockEmployeeStore.Snapshot(version, List.copyOf(employees.values())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore mock employees from " + directory, e);
+        }
+    }
+
+    @Override
+    public void start(Supplier<MockEmployeeStore.Snapshot> snapshots) {
+        try {
+            /* Without a snapshot the journal would replay onto whatever employees the next start generates. */
+            final long version = restoredVersion >= 0
+                    ? restoredVersion
+                    : writeSnapshot(snapshots.get()).version();
+            segment = openSegment(version);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open mock employee journal in " + directory, e);
+        }
+
+        running = true;
+        flusher.start();
+        snapshotScheduler.scheduleWithFixedDelay(
+                () -> compact(snapshots),
+                snapshotInterval.toMillis(),
+                snapshotInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public CompletableFuture<Void> append(MockEmployeeChange change) {
+        final var append = new Append(encode(change), new CompletableFuture<>());
+        if (!running) {
+            append.durable().completeExceptionally(new IllegalStateException("Mock employee journal is closed"));
+            return append.durable();
+        }
+        pending.add(append);
+        return append.durable();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        snapshotScheduler.shutdownNow();
+        running = false;
+        if (flusher.isAlive()) {
+            flusher.join();
+        }
+        if (segment != null) {
+            segment.close();
+        }
+    }
+
+    /*
+     * Flusher thread: writes queued appends and performs segment roll-overs in queue order.
+     */
+    private void flushPending() {
+        final var batch = new ArrayList<Object>();
+        while (running || !pending.isEmpty()) {
+            try {
+                final var first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, MAX_BATCH_SIZE - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Object> batch) {
+        final var appends = new ArrayList<Append>(batch.size());
+        for (final var item : batch) {
+            if (item instanceof Append append) {
+                appends.add(append);
+            } else if (item instanceof RollOver rollOver) {
+                /* Everything queued before the roll-over belongs in the old segment. */
+                sync(appends);
+                appends.clear();
+                try {
+                    segment.close();
+                    segment = openSegment(rollOver.version());
+                    rollOver.done().complete(null);
+                } catch (IOException e) {
+                    rollOver.done().completeExceptionally(e);
+                }
+            }
+        }
+        sync(appends);
+    }
+
+    private void sync(List<Append> appends) {
+        if (appends.isEmpty()) {
+            return;
+        }
+
+        final long startNanos = System.nanoTime();
+        try {
+            final var buffer = ByteBuffer.allocate(
+                    appends.stream().mapToInt(append -> append.record().length).sum());
+            appends.forEach(append -> buffer.put(append.record()));
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            segment.force(false);
+            syncTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            batchSize.record(appends.size());
+            appends.forEach(append -> append.durable().complete(null));
+        } catch (IOException e) {
+            log.error("Failed to write {} journal records", appends.size(), e);
+            appends.forEach(append -> append.durable().completeExceptionally(e));
+        }
+    }
+
+    /*
+     * Snapshot thread: writes a snapshot, rolls the journal over and deletes files the snapshot supersedes.
+     */
+    private void compact(Supplier<MockEmployeeStore.Snapshot> snapshots) {
+        try {
+            final var snapshot = snapshots.get();
+            if (snapshot.version() == lastSnapshotVersion) {
+                return;
+            }
+
+            writeSnapshot(snapshot);
+            final var rollOver = new RollOver(snapshot.version(), new CompletableFuture<>());
+            pending.add(rollOver);
+            rollOver.done().join();
+
+            /*
+             * The segment just closed may hold changes made while the snapshot was written, but every older segment
+             * was closed before the snapshot was taken.
+             */
+            final var segments = list(JOURNAL_PREFIX, JOURNAL_SUFFIX);
+            for (final var stale : segments.subList(0, Math.max(0, segments.size() - RETAINED_SEGMENTS))) {
+                Files.deleteIfExists(stale);
+            }
+            for (final var stale : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+                if (!stale.equals(snapshotFile(snapshot.version()))) {
+                    Files.deleteIfExists(stale);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to snapshot mock employees", e);
+        }
+    }
+
+    private MockEmployeeStore.Snapshot writeSnapshot(MockEmployeeStore.Snapshot snapshot) throws IOException {
+        final long startNanos = System.nanoTime();
+        final var target = snapshotFile(snapshot.version());
+        final var temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (final var channel = FileChannel.open(
+                        temporary,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE);
+                final var out =
+                        new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_FORMAT);
+            out.writeLong(snapshot.version());
+            out.writeInt(snapshot.employees().size());
+            for (final var mockEmployee : snapshot.employees()) {
+                MockEmployeeCodec.writeEmployee(out, mockEmployee);
+            }
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        lastSnapshotVersion = snapshot.version();
+        log.info(
+                "Wrote snapshot of {} employees at version {} in {} ms",
+                snapshot.employees().size(),
+                snapshot.version(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return snapshot;
+    }
+
+    private long readSnapshot(Path file, LinkedHashMap<UUID, MockEmployee> employees) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_FORMAT) {
+                throw new IOException("Unrecognized snapshot file " + file);
+            }
+            final long version = buffer.getLong();
+            final int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                final var mockEmployee = MockEmployeeCodec.readEmployee(buffer);
+                employees.put(mockEmployee.getId(), mockEmployee);
+            }
+            return version;
+        }
+    }
+
+    /*
+     * Reads the intact records of a journal segment, truncating it after the last one so appends never follow a torn
+     * record.
+     */
+    private List<MockEmployeeChange> readJournal(Path file) throws IOException {
+        final var changes = new ArrayList<MockEmployeeChange>();
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final var crc = new CRC32C();
+            while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+                final int start = buffer.position();
+                final int length = buffer.getInt();
+                final int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    buffer.position(start);
+                    break;
+                }
+                final var payload = buffer.slice(buffer.position(), length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    buffer.position(start);
+                    break;
+                }
+                changes.add(MockEmployeeCodec.readChange(payload));
+                buffer.position(buffer.position() + length);
+            }
+            if (buffer.position() < channel.size()) {
+                log.warn("Truncating torn journal tail of {} at offset {}", file.getFileName(), buffer.position());
+                channel.truncate(buffer.position());
+                channel.force(true);
+            }
+        }
+        return changes;
+    }
+
+    private static byte[] encode(MockEmployeeChange change) {
+        try {
+            final var payload = new ByteArrayOutputStream(128);
+            MockEmployeeCodec.writeChange(new DataOutputStream(payload), change);
+            final var crc = new CRC32C();
+            crc.update(payload.toByteArray());
+            return ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.size())
+                    .putInt(payload.size())
+                    .putInt((int) crc.getValue())
+                    .put(payload.toByteArray())
+                    .array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private FileChannel openSegment(long version) throws IOException {
+        final var channel = FileChannel.open(
+                directory.resolve(JOURNAL_PREFIX + "%020d".formatted(version) + JOURNAL_SUFFIX),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    private Path snapshotFile(long version) {
+        return directory.resolve(SNAPSHOT_PREFIX + "%020d".formatted(version) + SNAPSHOT_SUFFIX);
+    }
+
+    private Optional<Path> latest(String prefix, String suffix) throws IOException {
+        final var files = list(prefix, suffix);
+        return files.isEmpty() ? Optional.empty() : Optional.of(files.get(files.size() - 1));
+    }
+
+    /*
+     * File names embed zero-padded versions, so name order is version order.
+     */
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        final var name = file.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        final var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record Append(byte[] record, CompletableFuture<Void> durable) {}
+
+    private record RollOver(long version, CompletableFuture<Void> done) {}
+}
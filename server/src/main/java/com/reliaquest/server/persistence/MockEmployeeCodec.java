@@ -0,0 +1,86 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of mock employees and changes shared by the journal and the snapshots. Nullable values are
+ * preceded by a presence flag, strings are length-prefixed UTF-8.
+ */
+final class MockEmployeeCodec {
+
+    private static final MockEmployeeChange.Type[] CHANGE_TYPES = MockEmployeeChange.Type.values();
+
+    private MockEmployeeCodec() {}
+
+    static void writeChange(DataOutput out, MockEmployeeChange change) throws IOException {
+        out.writeLong(change.version());
+        out.writeByte(change.type().ordinal());
+        writeEmployee(out, change.employee());
+    }
+
+    static MockEmployeeChange readChange(ByteBuffer in) {
+        return new MockEmployeeChange(in.getLong(), CHANGE_TYPES[in.get()], readEmployee(in));
+    }
+
+    static void writeEmployee(DataOutput out, MockEmployee mockEmployee) throws IOException {
+        out.writeBoolean(mockEmployee.getId() != null);
+        if (mockEmployee.getId() != null) {
+            out.writeLong(mockEmployee.getId().getMostSignificantBits());
+            out.writeLong(mockEmployee.getId().getLeastSignificantBits());
+        }
+        writeString(out, mockEmployee.getName());
+        writeInteger(out, mockEmployee.getSalary());
+        writeInteger(out, mockEmployee.getAge());
+        writeString(out, mockEmployee.getTitle());
+        writeString(out, mockEmployee.getEmail());
+    }
+
+    static MockEmployee readEmployee(ByteBuffer in) {
+        final var id = in.get() != 0 ? new UUID(in.getLong(), in.getLong()) : null;
+        return MockEmployee.builder()
+                .id(id)
+                .name(readString(in))
+                .salary(readInteger(in))
+                .age(readInteger(in))
+                .title(readString(in))
+                .email(readString(in))
+                .build();
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        final int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Durable storage behind the {@link MockEmployeeStore}.
+ */
+public interface MockEmployeeJournal {
+
+    /**
+     * @return the employees and store version persisted by an earlier run, if any
+     */
+    Optional<MockEmployeeStore.Snapshot> restore();
+
+    /**
+     * Starts journaling; called once the store holds its initial employees.
+     *
+     * @param snapshots consistent snapshots of the store, used to compact the journal
+     */
+    void start(Supplier<MockEmployeeStore.Snapshot> snapshots);
+
+    /**
+     * Appends a change. Changes are appended in version order.
+     *
+     * @return a future completing once the change is durable
+     */
+    CompletableFuture<Void> append(MockEmployeeChange change);
+}
@@ -4,11 +4,14 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,39 +23,124 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    private static final int MAX_PAGE_SIZE = 10_000;
+    public static final int MAX_BATCH_SIZE = 1_000;
+
+    /* Queries answered by the server, so clients need not read every employee to answer them. */
+    public static final List<String> CAPABILITIES = List.of("search", "salary-max", "salary-top");
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    public MockEmployeeStore.Snapshot getMockEmployeeSnapshot() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    public long getVersion() {
+        return mockEmployeeStore.version();
+    }
+
+    public MockEmployeeChanges getChangesSince(long version) {
+        return mockEmployeeStore.findChangesSince(version);
+    }
+
+    public MockEmployeePage getMockEmployeePage(String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+
+        final var page = mockEmployeeStore.findPage(Objects.isNull(cursor) ? -1 : decodeCursor(cursor), limit);
+        return new MockEmployeePage(
+                page.employees(),
+                Objects.isNull(page.lastSequence()) ? null : encodeCursor(page.lastSequence()),
+                page.version());
+    }
+
+    public Iterable<MockEmployee> streamMockEmployees() {
+        return mockEmployeeStore.iterate();
+    }
+
+    public List<MockEmployee> searchByName(@NonNull String searchString) {
+        return mockEmployeeStore.searchByName(searchString);
+    }
+
+    public Optional<Integer> getHighestSalary() {
+        return mockEmployeeStore.findHighestSalary();
+    }
+
+    public List<MockEmployee> getTopBySalary(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and %d".formatted(MAX_PAGE_SIZE));
+        }
+
+        return mockEmployeeStore.findTopBySalary(limit);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = newMockEmployee(input);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Creates the employees with one store write, so they share a single durable commit.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        checkBatchSize(inputs.size());
+        final var mockEmployees = inputs.stream().map(this::newMockEmployee).toList();
+        mockEmployeeStore.addAll(mockEmployees);
+        log.debug("Added {} employees", mockEmployees.size());
+        return mockEmployees;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        return deleteAll(List.of(input)).get(0).isPresent();
+    }
+
+    /**
+     * Deletes the employees with one store write, so they share a single durable commit.
+     *
+     * @return the deleted employee for each input, in order, or empty where none matched
+     */
+    public List<Optional<MockEmployee>> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        checkBatchSize(inputs.size());
+        final var removed = mockEmployeeStore.removeAll(inputs.stream()
+                .map(input -> new MockEmployeeStore.Removal(input.getId(), input.getName()))
+                .toList());
+        removed.forEach(mockEmployee -> mockEmployee.ifPresent(it -> log.debug("Removed employee: {}", it)));
+        return removed;
+    }
+
+    private MockEmployee newMockEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
+
+    public static void checkBatchSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batches hold at most %d items".formatted(MAX_BATCH_SIZE));
         }
+    }
 
-        return false;
+    private static String encodeCursor(long sequence) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
     }
 }
@@ -0,0 +1,425 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thread-safe mock employee storage. Employees are kept in insertion order and indexed by id and by case-insensitive
+ * name. Lookups by id never lock; writes are serialized, and {@link #findAll()} returns an immutable snapshot that is
+ * reused until the next write.
+ * <p>
+ * Two more indexes answer queries without reading every employee: employees ordered by salary, highest first, and the
+ * 3-character substrings of the lower-cased names, mapped to the employees containing them. Like lookups by id, queries
+ * never lock and are weakly consistent with concurrent writes.
+ * <p>
+ * Every write after the initial employees are loaded increments the store version and is recorded in a change log
+ * holding the most recent changes. Versions start at the store's creation time in milliseconds, so a version handed
+ * out by an earlier run of the server is always older than anything this store can replay.
+ * <p>
+ * With a {@link MockEmployeeJournal} the store starts from the employees and version it restores, falling back to the
+ * generated employees, and every write returns only once its change is durable. Changes are appended to the journal
+ * under the write lock, so in version order, but waited for after releasing it, so concurrent writes share an fsync.
+ * <p>
+ * The employee count and store version are exposed as the {@code mock.employees.count} and
+ * {@code mock.employees.version} gauges.
+ */
+@Component
+public class MockEmployeeStore implements MeterBinder {
+
+    private static final CompletableFuture<Void> DURABLE = CompletableFuture.completedFuture(null);
+    private static final int GRAM_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<Long, MockEmployee> employeesBySequence = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Long> sequencesById = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Long>> sequencesByName = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Long>> sequencesByGram = new ConcurrentHashMap<>();
+    private final NavigableMap<SalaryKey, MockEmployee> employeesBySalary = new ConcurrentSkipListMap<>();
+    private final Deque<MockEmployeeChange> changes = new ArrayDeque<>();
+    private final int changeLogCapacity;
+    private long nextSequence;
+    private final MockEmployeeJournal journal;
+    private volatile long version;
+    private long truncatedThrough;
+    private volatile Snapshot snapshot;
+
+    /*
+     * The generated employees are injected lazily, so they are only generated if the journal restores nothing.
+     */
+    public MockEmployeeStore(
+            @Lazy List<MockEmployee> mockEmployees,
+            @Value("${mock.employees.change-log.capacity:10000}") int changeLogCapacity,
+            Optional<MockEmployeeJournal> journal) {
+        this.changeLogCapacity = changeLogCapacity;
+        this.journal = journal.orElse(null);
+        final var restored = journal.flatMap(MockEmployeeJournal::restore);
+        if (restored.isPresent()) {
+            /*
+             * Changes are visible before they are durable, so versions after the restored one may have been handed
+             * out for changes that were lost. Skip past them, so clients holding them resync.
+             */
+            version = Math.max(restored.get().version(), System.currentTimeMillis());
+            restored.get().employees().forEach(this::put);
+        } else {
+            version = System.currentTimeMillis();
+            mockEmployees.forEach(this::put);
+        }
+        truncatedThrough = version;
+        journal.ifPresent(it -> it.start(this::snapshot));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mock.employees.count", this, MockEmployeeStore::size)
+                .description("Employees currently stored")
+                .register(registry);
+        Gauge.builder("mock.employees.version", this, MockEmployeeStore::version)
+                .description("Version of the latest write")
+                .register(registry);
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(sequencesById.get(id)).map(employeesBySequence::get);
+    }
+
+    public List<MockEmployee> findAll() {
+        return snapshot().employees();
+    }
+
+    public Snapshot snapshot() {
+        final var current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        lock.readLock().lock();
+        try {
+            if (snapshot == null) {
+                snapshot = new Snapshot(version, List.copyOf(employeesBySequence.values()));
+            }
+            return snapshot;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} employees added after the one with sequence number {@code afterSequence}, in
+     * insertion order. Pages stay stable while employees are added or removed. The page's version is read before the
+     * employees, so the page reflects at least every change up to it.
+     */
+    public Page findPage(long afterSequence, int limit) {
+        final long pageVersion = version;
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, size()));
+        long lastSequence = afterSequence;
+        for (final var entry : employeesBySequence.tailMap(afterSequence, false).entrySet()) {
+            if (employees.size() == limit) {
+                return new Page(employees, lastSequence, pageVersion);
+            }
+            employees.add(entry.getValue());
+            lastSequence = entry.getKey();
+        }
+        return new Page(employees, null, pageVersion);
+    }
+
+    /**
+     * Iterates the live store in insertion order without copying it. The iteration is weakly consistent: employees
+     * added or removed meanwhile may or may not be seen, but none is seen twice.
+     */
+    public Iterable<MockEmployee> iterate() {
+        return employeesBySequence.values();
+    }
+
+    /**
+     * @return the changes made after {@code sinceVersion}, oldest first, or a resync marker if some of them are no
+     * longer in the change log or the version was not handed out by this store
+     */
+    public MockEmployeeChanges findChangesSince(long sinceVersion) {
+        lock.readLock().lock();
+        try {
+            if (sinceVersion < truncatedThrough || sinceVersion > version) {
+                return MockEmployeeChanges.resyncRequired(version);
+            }
+
+            final var since = new ArrayList<MockEmployeeChange>();
+            final var iterator = changes.descendingIterator();
+            while (iterator.hasNext()) {
+                final var change = iterator.next();
+                if (change.version() <= sinceVersion) {
+                    break;
+                }
+                since.add(change);
+            }
+            Collections.reverse(since);
+            return MockEmployeeChanges.of(version, since);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the employees whose name contains {@code searchString}, ignoring case, in insertion order
+     */
+    public List<MockEmployee> searchByName(@NonNull String searchString) {
+        final var query = normalize(searchString);
+        if (query.length() < GRAM_LENGTH) {
+            final var matches = new ArrayList<MockEmployee>();
+            for (final var mockEmployee : employeesBySequence.values()) {
+                if (Objects.nonNull(mockEmployee.getName())
+                        && normalize(mockEmployee.getName()).contains(query)) {
+                    matches.add(mockEmployee);
+                }
+            }
+            return matches;
+        }
+
+        /* Every match is in the posting set of each of the query's grams; verify the smallest one. */
+        NavigableSet<Long> candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            final var posting = sequencesByGram.get(query.substring(i, i + GRAM_LENGTH));
+            if (posting == null) {
+                return List.of();
+            }
+            if (candidates == null || posting.size() < candidates.size()) {
+                candidates = posting;
+            }
+        }
+
+        final var matches = new ArrayList<MockEmployee>();
+        for (final var sequence : candidates) {
+            final var mockEmployee = employeesBySequence.get(sequence);
+            if (mockEmployee != null && normalize(mockEmployee.getName()).contains(query)) {
+                matches.add(mockEmployee);
+            }
+        }
+        return matches;
+    }
+
+    public Optional<Integer> findHighestSalary() {
+        return Optional.ofNullable(employeesBySalary.firstEntry())
+                .map(entry -> entry.getKey().salary());
+    }
+
+    /**
+     * @return up to {@code limit} employees with the highest salaries, highest first. Employees sharing a salary keep
+     * the order they were added in.
+     */
+    public List<MockEmployee> findTopBySalary(int limit) {
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, size()));
+        for (final var mockEmployee : employeesBySalary.values()) {
+            if (employees.size() == limit) {
+                break;
+            }
+            employees.add(mockEmployee);
+        }
+        return employees;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return sequencesById.size();
+    }
+
+    public void add(@NonNull MockEmployee mockEmployee) {
+        addAll(List.of(mockEmployee));
+    }
+
+    /**
+     * Adds the employees as one write, returning once all of their changes are durable.
+     */
+    public void addAll(@NonNull List<MockEmployee> mockEmployees) {
+        final var durable = new ArrayList<CompletableFuture<Void>>(mockEmployees.size());
+        lock.writeLock().lock();
+        try {
+            for (final var mockEmployee : mockEmployees) {
+                put(mockEmployee);
+                durable.add(record(MockEmployeeChange.Type.CREATED, mockEmployee));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(durable);
+    }
+
+    /**
+     * Removes the earliest added employee whose name matches, ignoring case.
+     */
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        return removeAll(List.of(new Removal(null, name))).get(0);
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        return removeAll(List.of(new Removal(id, null))).get(0);
+    }
+
+    /**
+     * Removes the employees as one write, returning once all of their changes are durable.
+     *
+     * @return the removed employee for each removal, in order, or empty where none matched
+     */
+    public List<Optional<MockEmployee>> removeAll(@NonNull List<Removal> removals) {
+        final var removed = new ArrayList<Optional<MockEmployee>>(removals.size());
+        final var durable = new ArrayList<CompletableFuture<Void>>(removals.size());
+        lock.writeLock().lock();
+        try {
+            for (final var removal : removals) {
+                final var mockEmployee = remove(sequenceOf(removal));
+                if (mockEmployee != null) {
+                    durable.add(record(MockEmployeeChange.Type.DELETED, mockEmployee));
+                }
+                removed.add(Optional.ofNullable(mockEmployee));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        awaitDurable(durable);
+        return removed;
+    }
+
+    private Long sequenceOf(Removal removal) {
+        if (Objects.nonNull(removal.id())) {
+            return sequencesById.get(removal.id());
+        }
+        final var sequences = sequencesByName.get(normalize(removal.name()));
+        return sequences == null ? null : sequences.first();
+    }
+
+    private static void awaitDurable(List<CompletableFuture<Void>> durable) {
+        if (durable.size() == 1) {
+            durable.get(0).join();
+        } else if (!durable.isEmpty()) {
+            CompletableFuture.allOf(durable.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+
+    private void put(MockEmployee mockEmployee) {
+        if (Objects.nonNull(mockEmployee.getId())) {
+            remove(sequencesById.get(mockEmployee.getId()));
+        }
+
+        final long sequence = nextSequence++;
+        employeesBySequence.put(sequence, mockEmployee);
+        if (Objects.nonNull(mockEmployee.getId())) {
+            sequencesById.put(mockEmployee.getId(), sequence);
+        }
+        if (Objects.nonNull(mockEmployee.getName())) {
+            final var name = normalize(mockEmployee.getName());
+            sequencesByName.computeIfAbsent(name, ignored -> new TreeSet<>()).add(sequence);
+            grams(name).forEach(gram -> sequencesByGram
+                    .computeIfAbsent(gram, ignored -> new ConcurrentSkipListSet<>())
+                    .add(sequence));
+        }
+        if (Objects.nonNull(mockEmployee.getSalary())) {
+            employeesBySalary.put(new SalaryKey(mockEmployee.getSalary(), sequence), mockEmployee);
+        }
+        snapshot = null;
+    }
+
+    private MockEmployee remove(Long sequence) {
+        if (sequence == null) {
+            return null;
+        }
+
+        final var mockEmployee = employeesBySequence.remove(sequence);
+        if (Objects.nonNull(mockEmployee.getId())) {
+            sequencesById.remove(mockEmployee.getId());
+        }
+        if (Objects.nonNull(mockEmployee.getName())) {
+            final var key = normalize(mockEmployee.getName());
+            final var sequences = sequencesByName.get(key);
+            sequences.remove(sequence);
+            if (sequences.isEmpty()) {
+                sequencesByName.remove(key);
+            }
+            for (final var gram : grams(key)) {
+                final var posting = sequencesByGram.get(gram);
+                posting.remove(sequence);
+                if (posting.isEmpty()) {
+                    sequencesByGram.remove(gram);
+                }
+            }
+        }
+        if (Objects.nonNull(mockEmployee.getSalary())) {
+            employeesBySalary.remove(new SalaryKey(mockEmployee.getSalary(), sequence));
+        }
+        snapshot = null;
+        return mockEmployee;
+    }
+
+    private CompletableFuture<Void> record(MockEmployeeChange.Type type, MockEmployee mockEmployee) {
+        version++;
+        final var change = new MockEmployeeChange(version, type, mockEmployee);
+        changes.addLast(change);
+        if (changes.size() > changeLogCapacity) {
+            truncatedThrough = changes.removeFirst().version();
+        }
+        return journal == null ? DURABLE : journal.append(change);
+    }
+
+    public record Snapshot(long version, List<MockEmployee> employees) {}
+
+    /**
+     * Identifies the employee to remove by id or, without one, as the earliest added employee with the name.
+     */
+    public record Removal(UUID id, String name) {}
+
+    /**
+     * @param lastSequence sequence number of the last employee on the page, or null if no employees follow it
+     */
+    public record Page(List<MockEmployee> employees, Long lastSequence, long version) {}
+
+    /*
+     * Highest salary first, then insertion order.
+     */
+    private record SalaryKey(int salary, long sequence) implements Comparable<SalaryKey> {
+
+        @Override
+        public int compareTo(SalaryKey other) {
+            final int bySalary = Integer.compare(other.salary, salary);
+            return bySalary != 0 ? bySalary : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase();
+    }
+
+    private static Set<String> grams(String name) {
+        final var grams = new HashSet<String>();
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            grams.add(name.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,7 @@
+package com.reliaquest.server.web;
+
+public enum RateLimitAlgorithm {
+    TOKEN_BUCKET,
+    SLIDING_WINDOW,
+    DISABLED
+}
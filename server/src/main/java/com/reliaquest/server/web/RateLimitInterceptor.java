@@ -0,0 +1,126 @@
+package com.reliaquest.server.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rate limits requests per client, identified by the {@code mock.rate-limit.client-header} header or else by remote
+ * address. Each client gets its own limiter, so clients do not throttle each other. Limiters live in a concurrent map
+ * and are themselves lock-free; idle ones are swept once the map grows past {@code mock.rate-limit.max-clients}.
+ * <p>
+ * Every response carries {@code X-RateLimit-Limit} and {@code X-RateLimit-Remaining}; rejected requests get a 429 with
+ * {@code Retry-After} in seconds. Rejections are counted as {@code mock.rate-limit.rejections}, tagged by algorithm.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("!'${mock.rate-limit.algorithm:SLIDING_WINDOW}'.equalsIgnoreCase('DISABLED')")
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimitAlgorithm algorithm;
+    private final long limit;
+    private final long windowNanos;
+    private final String clientHeader;
+    private final int maxClients;
+    private final Map<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+    private final Counter rejections;
+
+    public RateLimitInterceptor(
+            @Value("${mock.rate-limit.algorithm:SLIDING_WINDOW}") RateLimitAlgorithm algorithm,
+            @Value("${mock.rate-limit.limit:10}") long limit,
+            @Value("${mock.rate-limit.window:60s}") Duration window,
+            @Value("${mock.rate-limit.client-header:}") String clientHeader,
+            @Value("${mock.rate-limit.max-clients:10000}") int maxClients,
+            MeterRegistry meterRegistry) {
+        if (limit < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive limit and window");
+        }
+        this.algorithm = algorithm;
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.clientHeader = clientHeader;
+        this.maxClients = maxClients;
+        this.rejections = Counter.builder("mock.rate-limit.rejections")
+                .description("Requests rejected with 429 Too Many Requests")
+                .tag("algorithm", algorithm.name())
+                .register(meterRegistry);
+        Gauge.builder("mock.rate-limit.clients", limiters, Map::size)
+                .description("Clients currently holding a rate limiter")
+                .register(meterRegistry);
+        log.info("Rate limiting each client to {} requests per {} with {}", limit, window, algorithm);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final long now = System.nanoTime();
+        final var decision = limiters.computeIfAbsent(clientOf(request), ignored -> newLimiter(now))
+                .tryAcquire(now);
+        response.setHeader(LIMIT_HEADER, Long.toString(limit));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        if (limiters.size() > maxClients) {
+            sweep(now);
+        }
+        if (decision.allowed()) {
+            return true;
+        }
+
+        rejections.increment();
+        response.setHeader(
+                HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, ceilDiv(decision.retryAfterNanos(), TimeUnit.SECONDS.toNanos(1)))));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        return false;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        if (StringUtils.hasText(clientHeader)) {
+            final var client = request.getHeader(clientHeader);
+            if (StringUtils.hasText(client)) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private RateLimiter newLimiter(long now) {
+        return switch (algorithm) {
+            case TOKEN_BUCKET -> new TokenBucketRateLimiter(limit, windowNanos, now);
+            case SLIDING_WINDOW -> new SlidingWindowRateLimiter(limit, windowNanos, now);
+            case DISABLED -> throw new IllegalStateException("Rate limiting is disabled");
+        };
+    }
+
+    /*
+     * At most one sweep per window, by whichever request wins the race for it.
+     */
+    private void sweep(long now) {
+        final long last = lastSweepNanos.get();
+        if (now - last < windowNanos || !lastSweepNanos.compareAndSet(last, now)) {
+            return;
+        }
+        limiters.values().removeIf(limiter -> limiter.isIdle(now));
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.server.web;
+
+/**
+ * Rate limit state of a single client. Implementations are lock-free and safe for concurrent use.
+ */
+interface RateLimiter {
+
+    Decision tryAcquire(long nowNanos);
+
+    /**
+     * @return whether the limiter is back in its initial state, so it can be discarded
+     */
+    boolean isIdle(long nowNanos);
+
+    /**
+     * @param remaining requests the client may still make right away
+     * @param retryAfterNanos how long a rejected client should wait before retrying, 0 when allowed
+     */
+    record Decision(boolean allowed, long remaining, long retryAfterNanos) {}
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Allows {@code limit} requests per sliding window, estimated from the counts of the current and the previous fixed
+ * window: the previous count is weighted by how much of it still overlaps the sliding window. The state is an immutable
+ * value swapped with compare-and-set.
+ */
+class SlidingWindowRateLimiter implements RateLimiter {
+
+    private final long limit;
+    private final long windowNanos;
+    private final long originNanos;
+    private final AtomicReference<Window> window;
+
+    SlidingWindowRateLimiter(long limit, long windowNanos, long nowNanos) {
+        this.limit = limit;
+        this.windowNanos = windowNanos;
+        this.originNanos = nowNanos;
+        this.window = new AtomicReference<>(new Window(0, 0, 0));
+    }
+
+    @Override
+    public Decision tryAcquire(long nowNanos) {
+        final long elapsedNanos = nowNanos - originNanos;
+        final long index = elapsedNanos / windowNanos;
+        final long offsetNanos = elapsedNanos % windowNanos;
+        while (true) {
+            final var current = window.get();
+            final var advanced = current.advanceTo(index);
+            final double overlap = 1 - (double) offsetNanos / windowNanos;
+            final double estimate = advanced.previous() * overlap + advanced.current();
+            if (estimate + 1 > limit) {
+                return new Decision(false, 0, retryAfterNanos(advanced, offsetNanos));
+            }
+            if (window.compareAndSet(current, advanced.increment())) {
+                return new Decision(true, (long) (limit - estimate - 1), 0);
+            }
+        }
+    }
+
+    @Override
+    public boolean isIdle(long nowNanos) {
+        final var current = window.get().advanceTo((nowNanos - originNanos) / windowNanos);
+        return current.previous() == 0 && current.current() == 0;
+    }
+
+    /*
+     * Time until the weighted estimate leaves room for one more request, in this window or, if the current count alone
+     * fills it, in the next one. Rounded up, so a request made exactly that much later is admitted.
+     */
+    private long retryAfterNanos(Window window, long offsetNanos) {
+        if (window.current() + 1 <= limit) {
+            final double overlapNeeded = (double) (limit - 1 - window.current()) / window.previous();
+            return Math.max(1, (long) Math.ceil((1 - overlapNeeded) * windowNanos) - offsetNanos);
+        }
+        final double overlapNeeded = (double) (limit - 1) / window.current();
+        return windowNanos - offsetNanos + (long) Math.ceil((1 - overlapNeeded) * windowNanos);
+    }
+
+    private record Window(long index, long previous, long current) {
+
+        Window advanceTo(long nextIndex) {
+            if (nextIndex == index) {
+                return this;
+            }
+            return new Window(nextIndex, nextIndex == index + 1 ? current : 0, 0);
+        }
+
+        Window increment() {
+            return new Window(index, previous, current + 1);
+        }
+    }
+}
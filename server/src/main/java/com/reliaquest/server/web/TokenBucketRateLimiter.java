@@ -0,0 +1,43 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket holding up to {@code capacity} tokens and refilling at {@code capacity} per window, implemented as the
+ * equivalent generic cell rate algorithm: the whole state is the theoretical arrival time of the next request, updated
+ * with a single compare-and-set.
+ */
+class TokenBucketRateLimiter implements RateLimiter {
+
+    private final long capacity;
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    TokenBucketRateLimiter(long capacity, long windowNanos, long nowNanos) {
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, windowNanos / capacity);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    @Override
+    public Decision tryAcquire(long nowNanos) {
+        while (true) {
+            final long current = theoreticalArrivalNanos.get();
+            final long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            final long debtNanos = next - nowNanos;
+            if (debtNanos > burstNanos) {
+                return new Decision(false, 0, debtNanos - burstNanos);
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return new Decision(true, Math.min(capacity, (burstNanos - debtNanos) / emissionIntervalNanos), 0);
+            }
+        }
+    }
+
+    @Override
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrivalNanos.get() <= nowNanos;
+    }
+}
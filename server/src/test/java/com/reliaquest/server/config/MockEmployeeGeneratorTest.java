@@ -0,0 +1,26 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    @Test
+    void itShouldGenerateTheSameEmployeesForTheSameSeed() {
+        final var employees = new MockEmployeeGenerator(42, Locale.US).generate(25_000);
+
+        assertEquals(25_000, employees.size());
+        assertEquals(employees, new MockEmployeeGenerator(42, Locale.US).generate(25_000));
+        assertNotEquals(employees, new MockEmployeeGenerator(43, Locale.US).generate(25_000));
+    }
+
+    @Test
+    void itShouldStartLargerCountsWithTheEmployeesOfSmallerOnes() {
+        final var generator = new MockEmployeeGenerator(42, Locale.US);
+
+        assertEquals(generator.generate(10_000), generator.generate(25_000).subList(0, 10_000));
+        assertEquals(generator.generate(3), generator.generate(10_000).subList(0, 3));
+    }
+}
@@ -0,0 +1,254 @@
+package com.reliaquest.server.controller;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeControllerTest {
+
+    private static final String EMPLOYEES = "/api/v1/employee";
+    private static final String VALID_ITEM = """
+            {"name": "Jill", "salary": 1, "age": 30, "title": "QA"}""";
+
+    private final MockEmployeeStore store =
+            new MockEmployeeStore(List.of(employee(1), employee(2)), 10, Optional.empty());
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(
+                    new MockEmployeeService(new Faker(), store),
+                    new ObjectMapper(),
+                    Validation.buildDefaultValidatorFactory().getValidator()))
+            .setControllerAdvice(new MockEmployeeControllerAdvice())
+            .build();
+
+    @Test
+    void itShouldTagEmployeesWithTheStoreVersionAndAnswerIfNoneMatchWith304() throws Exception {
+        final var eTag = "W/\"v%d\"".formatted(store.version());
+
+        mockMvc.perform(get(EMPLOYEES)).andExpect(status().isOk()).andExpect(header().string("ETag", eTag));
+        mockMvc.perform(get(EMPLOYEES).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get(EMPLOYEES + "/" + employee(1).getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void itShouldAnswerIfNoneMatchWithTheEmployeesOnceTheyChange() throws Exception {
+        final var eTag = "W/\"v%d\"".formatted(store.version());
+        store.add(employee(3));
+
+        mockMvc.perform(get(EMPLOYEES).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"v%d\"".formatted(store.version())))
+                .andExpect(jsonPath("$.data.length()").value(3));
+    }
+
+    @Test
+    void itShouldNotTagMissingEmployees() throws Exception {
+        mockMvc.perform(get(EMPLOYEES + "/" + UUID.randomUUID())
+                        .header("If-None-Match", "W/\"v%d\"".formatted(store.version())))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void itShouldAnswerALimitWithAPageEvenWhenAskedToStream() throws Exception {
+        mockMvc.perform(get(EMPLOYEES).param("limit", "1").param("stream", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").exists());
+    }
+
+    @Test
+    void itShouldStreamEmployeesInTheAcceptedFormat() throws Exception {
+        final var result = stream("application/cbor;q=0.5, application/x-jackson-smile");
+
+        assertEquals("application/x-jackson-smile", result.getResponse().getContentType());
+        final var body = new ObjectMapper(new SmileFactory())
+                .readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(2, body.get("data").size());
+        assertEquals("Employee 1", body.get("data").get(0).get("employee_name").asText());
+    }
+
+    @Test
+    void itShouldStreamJsonToClientsAcceptingAnything() throws Exception {
+        final var result = stream("*/*");
+
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, result.getResponse().getContentType());
+        assertEquals(
+                2,
+                new ObjectMapper()
+                        .readTree(result.getResponse().getContentAsByteArray())
+                        .get("data")
+                        .size());
+    }
+
+    @Test
+    void itShouldNotStreamToClientsAcceptingNoSupportedFormat() throws Exception {
+        mockMvc.perform(get(EMPLOYEES).param("stream", "true").accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void itShouldListTheQueriesItAnswers() throws Exception {
+        mockMvc.perform(get(EMPLOYEES + "/capabilities"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(contains("search", "salary-max", "salary-top")));
+    }
+
+    @Test
+    void itShouldSearchNamesIgnoringCase() throws Exception {
+        mockMvc.perform(get(EMPLOYEES + "/search").param("name", "EMPLOYEE 2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].employee_name").value(contains("Employee 2")));
+        mockMvc.perform(get(EMPLOYEES + "/search").param("name", "Ee"))
+                .andExpect(jsonPath("$.data[*].employee_name").value(contains("Employee 1", "Employee 2")));
+        mockMvc.perform(get(EMPLOYEES + "/search").param("name", "nobody"))
+                .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    @Test
+    void itShouldAnswerTheHighestSalary() throws Exception {
+        mockMvc.perform(get(EMPLOYEES + "/salary/max"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(2000));
+    }
+
+    @Test
+    void itShouldAnswerTheTopEarnersHighestFirst() throws Exception {
+        mockMvc.perform(get(EMPLOYEES + "/salary/top").param("limit", "10000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].employee_name").value(contains("Employee 2", "Employee 1")));
+        mockMvc.perform(get(EMPLOYEES + "/salary/top").param("limit", "1"))
+                .andExpect(jsonPath("$.data[*].employee_name").value(contains("Employee 2")));
+    }
+
+    @Test
+    void itShouldRejectTopEarnerLimitsOutsideTheAllowedRange() throws Exception {
+        for (final var limit : List.of("0", "-1", "10001")) {
+            mockMvc.perform(get(EMPLOYEES + "/salary/top").param("limit", limit))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Limit must be between 1 and 10000"));
+        }
+    }
+
+    @Test
+    void itShouldCreateValidBatchItemsAndReportInvalidOnesInPlace() throws Exception {
+        mockMvc.perform(
+                        post(EMPLOYEES + "/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        """
+                [
+                  {"name": "Jill Jenkins", "salary": 5000, "age": 30, "title": "Engineer"},
+                  {"name": " ", "salary": -1, "age": 10, "title": "Engineer"},
+                  null
+                ]
+                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].outcome").value("CREATED"))
+                .andExpect(jsonPath("$.data[0].employee.employee_name").value("Jill Jenkins"))
+                .andExpect(jsonPath("$.data[1].outcome").value("INVALID"))
+                .andExpect(jsonPath("$.data[1].error")
+                        .value("age must be greater than or equal to 16, name must not be blank, "
+                                + "salary must be greater than 0"))
+                .andExpect(jsonPath("$.data[2].outcome").value("INVALID"))
+                .andExpect(jsonPath("$.data[2].error").value("item is required"));
+
+        assertEquals(3, store.size());
+        assertEquals(1, store.searchByName("Jill Jenkins").size());
+    }
+
+    @Test
+    void itShouldDeleteBatchItemsByIdOrElseByName() throws Exception {
+        store.add(employee(3).toBuilder().name("Employee 2").build());
+
+        mockMvc.perform(delete(EMPLOYEES + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                [
+                  {"id": "%s", "name": "Employee 2"},
+                  {"name": "EMPLOYEE 2"},
+                  {"id": "%s"},
+                  {"name": " "}
+                ]
+                """
+                                        .formatted(employee(1).getId(), UUID.randomUUID())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].outcome").value("DELETED"))
+                .andExpect(jsonPath("$.data[0].employee.id")
+                        .value(employee(1).getId().toString()))
+                .andExpect(jsonPath("$.data[1].outcome").value("DELETED"))
+                .andExpect(jsonPath("$.data[1].employee.id")
+                        .value(employee(2).getId().toString()))
+                .andExpect(jsonPath("$.data[2].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.data[3].outcome").value("INVALID"))
+                .andExpect(jsonPath("$.data[3].error").value("nameOrId is required"));
+
+        assertEquals(List.of(employee(3).toBuilder().name("Employee 2").build()), store.findAll());
+    }
+
+    @Test
+    void itShouldAcceptBatchesOfUpToAThousandItems() throws Exception {
+        mockMvc.perform(post(EMPLOYEES + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch(1000, VALID_ITEM)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1000));
+        assertEquals(1002, store.size());
+
+        mockMvc.perform(post(EMPLOYEES + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch(1001, VALID_ITEM)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Batches hold at most 1000 items"));
+        mockMvc.perform(delete(EMPLOYEES + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch(1001, "{\"name\": \"Jill\"}")))
+                .andExpect(status().isBadRequest());
+        assertEquals(1002, store.size());
+    }
+
+    private static String batch(int size, String item) {
+        return "[" + String.join(",", Collections.nCopies(size, item)) + "]";
+    }
+
+    private MvcResult stream(String accept) throws Exception {
+        final var started = mockMvc.perform(
+                        get(EMPLOYEES).param("stream", "true").header("Accept", accept))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private static MockEmployee employee(int number) {
+        return MockEmployee.builder()
+                .id(new UUID(0, number))
+                .name("Employee " + number)
+                .salary(1000 * number)
+                .age(20 + number)
+                .title("Engineer")
+                .email("employee" + number + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileMockEmployeeJournalTest {
+
+    private static final Duration NO_COMPACTION = Duration.ofHours(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void itShouldRestoreNothingFromAnEmptyDirectory() throws Exception {
+        final var journal = journal(NO_COMPACTION);
+
+        assertTrue(journal.restore().isEmpty());
+        journal.destroy();
+    }
+
+    @Test
+    void itShouldRestoreSnapshotAndReplayJournal() throws Exception {
+        final var journal = journal(NO_COMPACTION);
+        journal.restore();
+        journal.start(() -> new MockEmployeeStore.Snapshot(0, List.of(employee(1), employee(2))));
+        journal.append(created(1, employee(3))).join();
+        journal.append(deleted(2, employee(1))).join();
+        journal.destroy();
+
+        final var restored = journal(NO_COMPACTION).restore().orElseThrow();
+
+        assertEquals(2, restored.version());
+        assertEquals(List.of(employee(2), employee(3)), restored.employees());
+    }
+
+    @Test
+    void itShouldCutOffTornTailAndAppendAfterLastIntactRecord() throws Exception {
+        final var journal = journal(NO_COMPACTION);
+        journal.restore();
+        journal.start(() -> new MockEmployeeStore.Snapshot(0, List.of(employee(1))));
+        journal.append(created(1, employee(2))).join();
+        journal.destroy();
+        final var segment = onlySegment();
+        final long intactSize = Files.size(segment);
+        /* A header announcing more payload than was written before the crash. */
+        write(
+                segment,
+                intactSize,
+                ByteBuffer.allocate(12).putInt(64).putInt(0).putInt(42).flip());
+
+        final var restarted = journal(NO_COMPACTION);
+        final var restored = restarted.restore().orElseThrow();
+
+        assertEquals(1, restored.version());
+        assertEquals(List.of(employee(1), employee(2)), restored.employees());
+        assertEquals(intactSize, Files.size(segment));
+
+        restarted.start(() -> {
+            throw new AssertionError("A restored journal should not write a new snapshot");
+        });
+        restarted.append(created(2, employee(3))).join();
+        restarted.destroy();
+
+        final var reopened = journal(NO_COMPACTION).restore().orElseThrow();
+        assertEquals(2, reopened.version());
+        assertEquals(List.of(employee(1), employee(2), employee(3)), reopened.employees());
+    }
+
+    @Test
+    void itShouldStopReplayAtCorruptRecord() throws Exception {
+        final var journal = journal(NO_COMPACTION);
+        journal.restore();
+        journal.start(() -> new MockEmployeeStore.Snapshot(0, List.of(employee(1))));
+        journal.append(created(1, employee(2))).join();
+        final long firstRecordEnd = Files.size(onlySegment());
+        journal.append(created(2, employee(3))).join();
+        journal.destroy();
+        final var segment = onlySegment();
+        /* Flips a byte of the last record's payload, so its checksum no longer matches. */
+        final long lastByte = Files.size(segment) - 1;
+        final var original = ByteBuffer.allocate(1);
+        try (final var channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            channel.read(original, lastByte);
+        }
+        write(segment, lastByte, ByteBuffer.wrap(new byte[] {(byte) ~original.get(0)}));
+
+        final var restored = journal(NO_COMPACTION).restore().orElseThrow();
+
+        assertEquals(1, restored.version());
+        assertEquals(List.of(employee(1), employee(2)), restored.employees());
+        assertEquals(firstRecordEnd, Files.size(segment));
+    }
+
+    @Test
+    void itShouldRollOverAndDeleteSupersededFilesAfterSnapshots() throws Exception {
+        final var state = new AtomicReference<>(new MockEmployeeStore.Snapshot(0, List.of(employee(1))));
+        final var journal = journal(Duration.ofMillis(20));
+        journal.restore();
+        journal.start(state::get);
+
+        journal.append(created(1, employee(2))).join();
+        state.set(new MockEmployeeStore.Snapshot(1, List.of(employee(1), employee(2))));
+        await(() -> Files.exists(file("journal-", 1, ".log")));
+
+        journal.append(deleted(2, employee(1))).join();
+        state.set(new MockEmployeeStore.Snapshot(2, List.of(employee(2))));
+        await(() -> Files.exists(file("journal-", 2, ".log")) && !Files.exists(file("snapshot-", 1, ".bin")));
+
+        journal.append(created(3, employee(3))).join();
+        journal.destroy();
+
+        assertEquals(List.of(file("journal-", 1, ".log"), file("journal-", 2, ".log")), files("journal-"));
+        assertEquals(List.of(file("snapshot-", 2, ".bin")), files("snapshot-"));
+        final var restored = journal(NO_COMPACTION).restore().orElseThrow();
+        assertEquals(3, restored.version());
+        assertEquals(List.of(employee(2), employee(3)), restored.employees());
+    }
+
+    @Test
+    void itShouldFailAppendsOnceClosed() throws Exception {
+        final var journal = journal(NO_COMPACTION);
+        journal.restore();
+        journal.start(() -> new MockEmployeeStore.Snapshot(0, List.of()));
+        journal.destroy();
+
+        assertThrows(
+                Exception.class, () -> journal.append(created(1, employee(1))).join());
+    }
+
+    private FileMockEmployeeJournal journal(Duration snapshotInterval) throws IOException {
+        return new FileMockEmployeeJournal(directory, snapshotInterval, new SimpleMeterRegistry());
+    }
+
+    private Path onlySegment() throws IOException {
+        final var segments = files("journal-");
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path file(String prefix, long version, String suffix) {
+        return directory.resolve(prefix + "%020d".formatted(version) + suffix);
+    }
+
+    private static void write(Path file, long position, ByteBuffer bytes) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for compaction");
+            Thread.sleep(10);
+        }
+    }
+
+    private static MockEmployeeChange created(long version, MockEmployee employee) {
+        return new MockEmployeeChange(version, MockEmployeeChange.Type.CREATED, employee);
+    }
+
+    private static MockEmployeeChange deleted(long version, MockEmployee employee) {
+        return new MockEmployeeChange(version, MockEmployeeChange.Type.DELETED, employee);
+    }
+
+    private static MockEmployee employee(int number) {
+        return MockEmployee.builder()
+                .id(new UUID(0, number))
+                .name("Employee " + number)
+                .salary(1000 * number)
+                .age(20 + number)
+                .title("Engineer")
+                .email("employee" + number + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,261 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    private final MockEmployeeStore store =
+            new MockEmployeeStore(List.of(employee(1), employee(2)), 3, Optional.empty());
+
+    @Test
+    void itShouldReturnNoChangesSinceTheCurrentVersion() {
+        final var changes = store.findChangesSince(store.version());
+
+        assertFalse(changes.resyncRequired());
+        assertEquals(store.version(), changes.version());
+        assertEquals(List.of(), changes.changes());
+    }
+
+    @Test
+    void itShouldReturnChangesSinceAVersionOldestFirst() {
+        final long since = store.version();
+        store.add(employee(3));
+        final long afterCreate = store.version();
+        store.removeById(employee(1).getId());
+
+        final var changes = store.findChangesSince(since);
+
+        assertFalse(changes.resyncRequired());
+        assertEquals(since + 2, changes.version());
+        assertEquals(
+                List.of(
+                        new MockEmployeeChange(since + 1, MockEmployeeChange.Type.CREATED, employee(3)),
+                        new MockEmployeeChange(since + 2, MockEmployeeChange.Type.DELETED, employee(1))),
+                changes.changes());
+        assertEquals(
+                List.of(new MockEmployeeChange(since + 2, MockEmployeeChange.Type.DELETED, employee(1))),
+                store.findChangesSince(afterCreate).changes());
+    }
+
+    @Test
+    void itShouldNotRecordRemovalsThatMatchNothing() {
+        final long since = store.version();
+
+        assertTrue(store.removeById(UUID.randomUUID()).isEmpty());
+
+        assertEquals(since, store.version());
+        assertEquals(List.of(), store.findChangesSince(since).changes());
+    }
+
+    @Test
+    void itShouldRequireResyncOnceChangesLeaveTheLog() {
+        final long since = store.version();
+        for (int i = 3; i <= 6; i++) {
+            store.add(employee(i));
+        }
+
+        final var changes = store.findChangesSince(since);
+
+        assertTrue(changes.resyncRequired());
+        assertEquals(store.version(), changes.version());
+        assertEquals(List.of(), changes.changes());
+        assertFalse(store.findChangesSince(since + 1).resyncRequired());
+        assertEquals(3, store.findChangesSince(since + 1).changes().size());
+    }
+
+    @Test
+    void itShouldRequireResyncForVersionsItDidNotHandOut() {
+        assertTrue(store.findChangesSince(store.version() + 1).resyncRequired());
+        assertTrue(store.findChangesSince(store.version() - 1).resyncRequired());
+    }
+
+    @Test
+    void itShouldRemoveTheEarliestEmployeeWithANameIgnoringCase() {
+        final var namesake = namesake(3, employee(1));
+        store.add(namesake);
+
+        assertEquals(Optional.of(employee(1)), store.removeByName("EMPLOYEE 1"));
+        assertEquals(Optional.of(namesake), store.removeByName("employee 1"));
+        assertEquals(Optional.empty(), store.removeByName("Employee 1"));
+        assertEquals(List.of(employee(2)), store.findAll());
+    }
+
+    @Test
+    void itShouldRemoveByIdEvenWhenAnEarlierEmployeeSharesTheName() {
+        final var namesake = namesake(3, employee(1));
+        store.add(namesake);
+
+        assertEquals(Optional.of(namesake), store.removeById(namesake.getId()));
+
+        assertEquals(List.of(employee(1), employee(2)), store.findAll());
+        assertEquals(Optional.of(employee(1)), store.removeByName("Employee 1"));
+    }
+
+    @Test
+    void itShouldLeaveTheStoreUnchangedWhenRemovingMissingEmployees() {
+        final var before = store.snapshot();
+
+        assertEquals(
+                List.of(Optional.empty(), Optional.empty()),
+                store.removeAll(List.of(
+                        new MockEmployeeStore.Removal(UUID.randomUUID(), null),
+                        new MockEmployeeStore.Removal(null, "Nobody"))));
+
+        assertSame(before, store.snapshot());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void itShouldKeepIndexesInStepWithAddsReplacementsAndRemovals() {
+        final var renamed = employee(1).toBuilder().name("Renamed").salary(9000).build();
+        store.add(employee(3));
+        store.add(renamed);
+        store.removeById(employee(2).getId());
+
+        assertEquals(List.of(employee(3), renamed), store.findAll());
+        assertEquals(2, store.size());
+        assertEquals(Optional.of(renamed), store.findById(renamed.getId()));
+        assertEquals(Optional.empty(), store.findById(employee(2).getId()));
+        assertEquals(List.of(employee(3)), store.searchByName("employee"));
+        assertEquals(List.of(renamed), store.searchByName("named"));
+        assertEquals(Optional.of(9000), store.findHighestSalary());
+        assertEquals(List.of(renamed, employee(3)), store.findTopBySalary(10));
+        assertEquals(Optional.empty(), store.removeByName("Employee 1"));
+    }
+
+    @Test
+    void itShouldKeepIndexesInStepUnderConcurrentAddsAndRemovals() throws Exception {
+        final var concurrentStore = new MockEmployeeStore(List.of(), 100, Optional.empty());
+        final int threads = 8;
+        final int perThread = 500;
+        final var start = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(threads);
+        try {
+            final var tasks = new ArrayList<Future<?>>();
+            for (int t = 0; t < threads; t++) {
+                final int first = t * perThread;
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = first; i < first + perThread; i++) {
+                        concurrentStore.add(employee(i));
+                        /* Odd employees are removed again, alternately by id and by name. */
+                        if (i % 4 == 1) {
+                            assertTrue(concurrentStore
+                                    .removeById(employee(i).getId())
+                                    .isPresent());
+                        } else if (i % 4 == 3) {
+                            assertTrue(concurrentStore
+                                    .removeByName(employee(i).getName())
+                                    .isPresent());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final var task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var all = concurrentStore.findAll();
+        final var kept = IntStream.range(0, threads * perThread)
+                .filter(i -> i % 2 == 0)
+                .mapToObj(MockEmployeeStoreTest::employee)
+                .collect(Collectors.toSet());
+        assertEquals(kept.size(), concurrentStore.size());
+        assertEquals(kept, Set.copyOf(all));
+        assertEquals(kept.size(), all.size());
+        assertEquals(kept, Set.copyOf(concurrentStore.findTopBySalary(Integer.MAX_VALUE)));
+        assertEquals(kept, Set.copyOf(concurrentStore.searchByName("employee")));
+        kept.forEach(employee -> assertEquals(Optional.of(employee), concurrentStore.findById(employee.getId())));
+        assertEquals(Optional.of(1000 * (threads * perThread - 2)), concurrentStore.findHighestSalary());
+    }
+
+    @Test
+    void itShouldSearchNamesByTrigramsIgnoringCase() {
+        final var ann = named(3, "Ann Smith");
+        final var joann = named(4, "Joann Lee");
+        store.add(ann);
+        store.add(joann);
+
+        assertEquals(List.of(ann, joann), store.searchByName("ANN"));
+        assertEquals(List.of(joann), store.searchByName("oAnN l"));
+        assertEquals(List.of(ann), store.searchByName("smith"));
+        assertEquals(List.of(), store.searchByName("xyz"));
+    }
+
+    @Test
+    void itShouldNotMatchNamesHoldingEveryTrigramOfTheQueryApart() {
+        store.add(named(3, "Dana"));
+        store.add(named(4, "Anakin"));
+
+        /* dan, ana, nak, aki and kin are all indexed, but no name contains the whole query. */
+        assertEquals(List.of(), store.searchByName("Danakin"));
+    }
+
+    @Test
+    void itShouldScanNamesForQueriesShorterThanATrigram() {
+        final var ann = named(3, "Ann Smith");
+        store.add(ann);
+
+        assertEquals(List.of(employee(1), employee(2)), store.searchByName("E"));
+        assertEquals(List.of(ann), store.searchByName("aN"));
+        assertEquals(List.of(employee(1), employee(2), ann), store.searchByName(""));
+        assertEquals(List.of(), store.searchByName("zz"));
+    }
+
+    @Test
+    void itShouldOrderSalariesHighestFirstKeepingInsertionOrderForTies() {
+        final var tie = employee(3).toBuilder().salary(employee(2).getSalary()).build();
+        store.add(tie);
+
+        assertEquals(Optional.of(2000), store.findHighestSalary());
+        assertEquals(List.of(employee(2), tie, employee(1)), store.findTopBySalary(10));
+        assertEquals(List.of(employee(2), tie), store.findTopBySalary(2));
+
+        store.removeById(employee(2).getId());
+        assertEquals(Optional.of(2000), store.findHighestSalary());
+        store.removeById(tie.getId());
+        assertEquals(Optional.of(1000), store.findHighestSalary());
+        store.removeById(employee(1).getId());
+        assertEquals(Optional.empty(), store.findHighestSalary());
+        assertEquals(List.of(), store.findTopBySalary(10));
+    }
+
+    private static MockEmployee named(int number, String name) {
+        return employee(number).toBuilder().name(name).build();
+    }
+
+    private static MockEmployee namesake(int number, MockEmployee of) {
+        return employee(number).toBuilder().name(of.getName().toLowerCase()).build();
+    }
+
+    private static MockEmployee employee(int number) {
+        return MockEmployee.builder()
+                .id(new UUID(0, number))
+                .name("Employee " + number)
+                .salary(1000 * number)
+                .age(20 + number)
+                .title("Engineer")
+                .email("employee" + number + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void itShouldAnswerTheRequestAfterTheBurstWithRetryAfterOfTheNextToken() {
+        /* One token every 5 seconds. */
+        final var interceptor = interceptor(RateLimitAlgorithm.TOKEN_BUCKET, 2, Duration.ofSeconds(10));
+
+        assertAllowed(interceptor, "client", 1);
+        assertAllowed(interceptor, "client", 0);
+        final var rejected = send(interceptor, "client");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("5", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("2", rejected.getHeader(RateLimitInterceptor.LIMIT_HEADER));
+        assertEquals("0", rejected.getHeader(RateLimitInterceptor.REMAINING_HEADER));
+        assertEquals(
+                1, meterRegistry.get("mock.rate-limit.rejections").counter().count());
+    }
+
+    @Test
+    void itShouldAnswerTheRequestAfterTheLimitWithRetryAfterOfTheNextWindow() {
+        final var interceptor = interceptor(RateLimitAlgorithm.SLIDING_WINDOW, 2, Duration.ofSeconds(10));
+
+        assertAllowed(interceptor, "client", 1);
+        assertAllowed(interceptor, "client", 0);
+        final var rejected = send(interceptor, "client");
+
+        /* The 2 requests weigh 1 once half of the next window has passed. */
+        assertEquals(429, rejected.getStatus());
+        assertEquals("15", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void itShouldRoundSubSecondRetryAfterUpToOneSecond() {
+        /* One token every 100 milliseconds. */
+        final var interceptor = interceptor(RateLimitAlgorithm.TOKEN_BUCKET, 10, Duration.ofSeconds(1));
+        for (int i = 0; i < 10; i++) {
+            send(interceptor, "client");
+        }
+
+        final var rejected = send(interceptor, "client");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void itShouldLimitEachClientSeparately() {
+        final var interceptor = interceptor(RateLimitAlgorithm.SLIDING_WINDOW, 1, Duration.ofSeconds(10));
+
+        assertAllowed(interceptor, "first", 0);
+        assertEquals(429, send(interceptor, "first").getStatus());
+
+        assertAllowed(interceptor, "second", 0);
+    }
+
+    @Test
+    void itShouldRejectNonPositiveLimits() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> interceptor(RateLimitAlgorithm.TOKEN_BUCKET, 0, Duration.ofSeconds(10)));
+        assertThrows(
+                IllegalArgumentException.class, () -> interceptor(RateLimitAlgorithm.TOKEN_BUCKET, 1, Duration.ZERO));
+    }
+
+    private RateLimitInterceptor interceptor(RateLimitAlgorithm algorithm, long limit, Duration window) {
+        return new RateLimitInterceptor(algorithm, limit, window, "X-Client", 100, meterRegistry);
+    }
+
+    private static void assertAllowed(RateLimitInterceptor interceptor, String client, long remaining) {
+        final var response = send(interceptor, client);
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(Long.toString(remaining), response.getHeader(RateLimitInterceptor.REMAINING_HEADER));
+    }
+
+    private static MockHttpServletResponse send(RateLimitInterceptor interceptor, String client) {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader("X-Client", client);
+        final var response = new MockHttpServletResponse();
+        final boolean handled = interceptor.preHandle(request, response, new Object());
+        assertEquals(handled, response.getStatus() == 200);
+        return response;
+    }
+}
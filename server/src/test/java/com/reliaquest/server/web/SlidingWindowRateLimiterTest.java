@@ -0,0 +1,87 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long START = TimeUnit.HOURS.toNanos(1);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long WINDOW = 10 * SECOND;
+
+    /* 10 requests per 10 second sliding window. */
+    private final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(10, WINDOW, START);
+
+    @Test
+    void itShouldAdmitTheLimitAndDenyTheNextRequest() {
+        for (int i = 0; i < 10; i++) {
+            final var decision = limiter.tryAcquire(START);
+            assertTrue(decision.allowed());
+            assertEquals(9 - i, decision.remaining());
+        }
+
+        final var denied = limiter.tryAcquire(START);
+
+        assertFalse(denied.allowed());
+        assertEquals(0, denied.remaining());
+        /* The 10 requests must weigh at most 9 in the next window, so 90% of it overlaps: 1 second into it. */
+        assertEquals(WINDOW + SECOND, denied.retryAfterNanos());
+    }
+
+    @Test
+    void itShouldAdmitExactlyAfterTheRetryAfterOfAFullWindow() {
+        fill(START);
+        final long retryAt = START + limiter.tryAcquire(START).retryAfterNanos();
+
+        assertFalse(limiter.tryAcquire(retryAt - 1).allowed());
+        assertTrue(limiter.tryAcquire(retryAt).allowed());
+        assertFalse(limiter.tryAcquire(retryAt).allowed());
+    }
+
+    @Test
+    void itShouldAdmitExactlyAfterTheRetryAfterOfAWeightedPreviousWindow() {
+        fill(START);
+        /* 5 seconds into the next window the previous 10 requests weigh 5. */
+        final long now = START + WINDOW + 5 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(now).allowed());
+        }
+        final var denied = limiter.tryAcquire(now);
+        assertFalse(denied.allowed());
+        /* The previous requests must weigh at most 4, so 40% of them overlap: 6 seconds into the window. */
+        assertEquals(SECOND, denied.retryAfterNanos());
+
+        final long retryAt = now + denied.retryAfterNanos();
+        assertFalse(limiter.tryAcquire(retryAt - 1).allowed());
+        assertTrue(limiter.tryAcquire(retryAt).allowed());
+        assertFalse(limiter.tryAcquire(retryAt).allowed());
+    }
+
+    @Test
+    void itShouldForgetWindowsOlderThanThePreviousOne() {
+        fill(START);
+
+        final long now = START + 2 * WINDOW;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(now).allowed());
+        }
+        assertFalse(limiter.tryAcquire(now).allowed());
+    }
+
+    @Test
+    void itShouldBeIdleOnceBothWindowsAreEmpty() {
+        assertTrue(limiter.isIdle(START));
+        fill(START);
+
+        assertFalse(limiter.isIdle(START + 2 * WINDOW - 1));
+        assertTrue(limiter.isIdle(START + 2 * WINDOW));
+    }
+
+    private void fill(long now) {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(now).allowed());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long START = TimeUnit.HOURS.toNanos(1);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /* 10 requests per 10 seconds: one token every second. */
+    private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 10 * SECOND, START);
+
+    @Test
+    void itShouldAdmitAFullBurstAndDenyTheNextRequest() {
+        for (int i = 0; i < 10; i++) {
+            final var decision = limiter.tryAcquire(START);
+            assertTrue(decision.allowed());
+            assertEquals(9 - i, decision.remaining());
+            assertEquals(0, decision.retryAfterNanos());
+        }
+
+        final var denied = limiter.tryAcquire(START);
+
+        assertFalse(denied.allowed());
+        assertEquals(0, denied.remaining());
+        assertEquals(SECOND, denied.retryAfterNanos());
+    }
+
+    @Test
+    void itShouldAdmitExactlyWhenTheNextTokenArrives() {
+        drain();
+
+        final var early = limiter.tryAcquire(START + SECOND - 1);
+        assertFalse(early.allowed());
+        assertEquals(1, early.retryAfterNanos());
+
+        final var onTime = limiter.tryAcquire(START + SECOND);
+        assertTrue(onTime.allowed());
+        assertEquals(0, onTime.remaining());
+        assertFalse(limiter.tryAcquire(START + SECOND).allowed());
+    }
+
+    @Test
+    void itShouldNotSaveMoreThanABurstWhileIdle() {
+        final long later = START + 60 * SECOND;
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(later).allowed());
+        }
+
+        assertFalse(limiter.tryAcquire(later).allowed());
+    }
+
+    @Test
+    void itShouldNotChargeDeniedRequests() {
+        drain();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(SECOND, limiter.tryAcquire(START).retryAfterNanos());
+        }
+
+        assertTrue(limiter.tryAcquire(START + SECOND).allowed());
+    }
+
+    @Test
+    void itShouldBeIdleOnceTheBucketHasRefilled() {
+        assertTrue(limiter.isIdle(START));
+        drain();
+
+        assertFalse(limiter.isIdle(START + 10 * SECOND - 1));
+        assertTrue(limiter.isIdle(START + 10 * SECOND));
+    }
+
+    private void drain() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire(START).allowed());
+        }
+    }
+}